@@ -391,6 +391,13 @@ public class Launcher implements SpoonAPI {
 			sw1.setDefault("false");
 			jsap.registerParameter(sw1);
 
+			// Skip the output files which did not change.
+			sw1 = new Switch("skip-unchanged-files");
+			sw1.setLongFlag("skip-unchanged-files");
+			sw1.setHelp("Do not write again the source files whose printed content is already in the destination folder, nor the resources already copied with the same size and date.");
+			sw1.setDefault("false");
+			jsap.registerParameter(sw1);
+
 			// Enable generation of javadoc.
 			sw1 = new Switch("enable-comments");
 			sw1.setShortFlag('c');
@@ -416,6 +423,37 @@ public class Launcher implements SpoonAPI {
 			sw1.setDefault("false");
 			jsap.registerParameter(sw1);
 
+			// Fuse the processors.
+			sw1 = new Switch("fused-processing");
+			sw1.setLongFlag("fused-processing");
+			sw1.setHelp("Applies the consecutive processors with the same traversal strategy in a single traversal of the model, except the processors implementing ProcessingBarrier.");
+			sw1.setDefault("false");
+			jsap.registerParameter(sw1);
+
+			// Number of threads used to build the model.
+			opt2 = new FlaggedOption("model-building-threads");
+			opt2.setLongFlag("model-building-threads");
+			opt2.setStringParser(JSAP.INTEGER_PARSER);
+			opt2.setDefault("1");
+			opt2.setHelp("Number of threads used to build the model from the compilation units (1 builds sequentially).");
+			jsap.registerParameter(opt2);
+
+			// Number of threads used to print the source files.
+			opt2 = new FlaggedOption("output-writing-threads");
+			opt2.setLongFlag("output-writing-threads");
+			opt2.setStringParser(JSAP.INTEGER_PARSER);
+			opt2.setDefault("1");
+			opt2.setHelp("Number of threads used to print the source files of the top-level types (1 prints sequentially).");
+			jsap.registerParameter(opt2);
+
+			// Number of threads used to apply the type-local processors.
+			opt2 = new FlaggedOption("processing-threads");
+			opt2.setLongFlag("processing-threads");
+			opt2.setStringParser(JSAP.INTEGER_PARSER);
+			opt2.setDefault("1");
+			opt2.setHelp("Number of threads used to apply the processors implementing TypeLocalProcessor to the top-level types (1 processes sequentially).");
+			jsap.registerParameter(opt2);
+
 			return jsap;
 		} catch (JSAPException e) {
 			throw new SpoonException(e.getMessage(), e);
@@ -446,10 +484,15 @@ public class Launcher implements SpoonAPI {
 		environment.setTabulationSize(jsapActualArgs.getInt("tabsize"));
 		environment.useTabulations(jsapActualArgs.getBoolean("tabs"));
 		environment.setCopyResources(!jsapActualArgs.getBoolean("no-copy-resources"));
+		environment.setSkipUnchangedFiles(jsapActualArgs.getBoolean("skip-unchanged-files"));
 		environment.setCommentEnabled(jsapActualArgs.getBoolean("enable-comments"));
 
 		environment.setShouldCompile(jsapActualArgs.getBoolean("compile"));
 		environment.setSelfChecks(jsapActualArgs.getBoolean("disable-model-self-checks"));
+		environment.setFusedProcessing(jsapActualArgs.getBoolean("fused-processing"));
+		environment.setModelBuildingThreads(jsapActualArgs.getInt("model-building-threads"));
+		environment.setOutputWritingThreads(jsapActualArgs.getInt("output-writing-threads"));
+		environment.setProcessingThreads(jsapActualArgs.getInt("processing-threads"));
 
 		if (getArguments().getString("generate-files") != null) {
 			setOutputFilter(getArguments().getString("generate-files").split(":"));
@@ -731,6 +774,8 @@ public class Launcher implements SpoonAPI {
 			throw new SpoonException(e);
 		}
 
+		int copiedResources = 0;
+		int skippedResources = 0;
 		if (getEnvironment().isCopyResources()) {
 			for (File dirInputSource : modelBuilder.getInputSources()) {
 				if (dirInputSource.isDirectory()) {
@@ -739,8 +784,13 @@ public class Launcher implements SpoonAPI {
 						final String resourceParentPath = ((File) resource).getParent();
 						final String packageDir = resourceParentPath.substring(dirInputSource.getPath().length());
 						final String targetDirectory = modelBuilder.getSourceOutputDirectory() + packageDir;
+						if (getEnvironment().isSkipUnchangedFiles() && isCopied((File) resource, new File(targetDirectory))) {
+							skippedResources++;
+							continue;
+						}
 						try {
 							FileUtils.copyFileToDirectory((File) resource, new File(targetDirectory));
+							copiedResources++;
 						} catch (IOException e) {
 							throw new SpoonException(e);
 						}
@@ -749,9 +799,24 @@ public class Launcher implements SpoonAPI {
 			}
 		}
 
+		if (getEnvironment().getDefaultFileGenerator() instanceof JavaOutputProcessor) {
+			JavaOutputProcessor outputProcessor = (JavaOutputProcessor) getEnvironment().getDefaultFileGenerator();
+			getEnvironment().debugMessage("source files: " + outputProcessor.getWrittenFileCount() + " written, " + outputProcessor.getSkippedFileCount() + " unchanged");
+		}
+		getEnvironment().debugMessage("resources: " + copiedResources + " copied, " + skippedResources + " unchanged");
 		getEnvironment().debugMessage("pretty-printed in " + (System.currentTimeMillis() - tstart) + " ms");
 	}
 
+	/**
+	 * Tells if the resource is already in the target directory. The copy keeps
+	 * the date of the resource, so a file with the same size and date is
+	 * considered as the same.
+	 */
+	private boolean isCopied(File resource, File targetDirectory) {
+		File target = new File(targetDirectory, resource.getName());
+		return target.isFile() && target.length() == resource.length() && target.lastModified() == resource.lastModified();
+	}
+
 	public SpoonModelBuilder getModelBuilder() {
 		return modelBuilder;
 	}
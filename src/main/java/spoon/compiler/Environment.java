@@ -28,6 +28,7 @@ import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.factory.Factory;
 
 import java.io.File;
+import java.nio.charset.Charset;
 
 /**
  * This interface represents the environment in which Spoon is launched -
@@ -288,6 +289,19 @@ public interface Environment {
 	 */
 	void setCopyResources(boolean copyResources);
 
+	/**
+	 * Returns the value of the option skip-unchanged-files.
+	 */
+	boolean isSkipUnchangedFiles();
+
+	/**
+	 * Sets the option skip-unchanged-files. When it is set, the printed source
+	 * files whose content is already on disk, and the resources already copied
+	 * with the same size and date, are not written again, so that their date
+	 * does not change for incremental builds.
+	 */
+	void setSkipUnchangedFiles(boolean skipUnchangedFiles);
+
 	/**
 	 * Returns the value of the option enable-comments.
 	 */
@@ -342,4 +356,73 @@ public interface Environment {
 
 	/** Set the directory where binary .class files are created */
 	String getBinaryOutputDirectory();
+
+	/**
+	 * Gets the number of threads used to build the Spoon model from the JDT
+	 * compilation units. 1 (the default) means that the model is built
+	 * sequentially in the calling thread.
+	 */
+	int getModelBuildingThreads();
+
+	/**
+	 * Sets the number of threads used to build the Spoon model. With a value
+	 * greater than 1, each compilation unit is transformed by its own tree
+	 * builder on a fork-join pool and the top-level types are merged into the
+	 * shared package tree of the factory.
+	 */
+	void setModelBuildingThreads(int threads);
+
+	/**
+	 * Gets the number of threads used by {@link spoon.support.JavaOutputProcessor}
+	 * to print the source files (1 by default).
+	 */
+	int getOutputWritingThreads();
+
+	/**
+	 * Sets the number of threads used to print the source files. With a value
+	 * greater than 1, each top-level type is printed by a per-thread pretty
+	 * printer on a fork-join pool, and the files are written concurrently.
+	 */
+	void setOutputWritingThreads(int threads);
+
+	/**
+	 * Gets the encoding of the source files, used to read their original source
+	 * code (the default charset of the platform unless it is set).
+	 */
+	Charset getEncoding();
+
+	/**
+	 * Sets the encoding of the source files. It is set by the model builder to
+	 * the encoding given to the compiler.
+	 */
+	void setEncoding(Charset encoding);
+
+	/**
+	 * Tells if the processors are fused (false by default): the consecutive
+	 * processors with the same traversal strategy are applied in a single
+	 * traversal of the model, except the {@link spoon.processing.ProcessingBarrier}s.
+	 */
+	boolean isFusedProcessing();
+
+	/**
+	 * Sets if the processors are fused. A fused processor does not see the
+	 * elements added by the other processors of its traversal to the parts
+	 * of the model that were already traversed.
+	 */
+	void setFusedProcessing(boolean fusedProcessing);
+
+	/**
+	 * Gets the number of threads used to apply the
+	 * {@link spoon.processing.TypeLocalProcessor}s (1 by default).
+	 */
+	int getProcessingThreads();
+
+	/**
+	 * Sets the number of threads used to apply the processors. With a value
+	 * greater than 1, the model is processed by a
+	 * {@link spoon.support.ParallelProcessingManager}, which applies each
+	 * {@link spoon.processing.TypeLocalProcessor} to the top-level types on a
+	 * fork-join pool.
+	 */
+	void setProcessingThreads(int threads);
 }
@@ -0,0 +1,31 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.processing;
+
+/**
+ * This interface is implemented by the processors which can be applied to
+ * several top-level types at the same time (see
+ * {@link spoon.support.ParallelProcessingManager}). Such a processor:
+ * <ul>
+ * <li>only reads and modifies the top-level type which contains the
+ * processed element (and may create new packages and types with the
+ * factory)</li>
+ * <li>is thread-safe: its state is shared by all the threads</li>
+ * </ul>
+ */
+public interface TypeLocalProcessor {
+}
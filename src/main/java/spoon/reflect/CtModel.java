@@ -45,4 +45,15 @@ public interface CtModel {
 	/** Returns all the model elements matching the filter. */
 	<E extends CtElement> List<E> getElements(Filter<E> filter);
 
+	/**
+	 * Indexes the elements of the model by type, so that {@link #getElements(Filter)}
+	 * with an {@link spoon.reflect.visitor.filter.AbstractFilter} only goes through the
+	 * elements of the filtered type (see {@link spoon.reflect.visitor.ElementIndex}). The index is a snapshot
+	 * of the model, to be dropped by {@link #clearElementIndex()} once the model is modified.
+	 */
+	void buildElementIndex();
+
+	/** Drops the index built by {@link #buildElementIndex()}, so that the queries scan the model again. */
+	void clearElementIndex();
+
 }
@@ -28,8 +28,8 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.ParentNotInitializedException;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.CtVisitor;
+import spoon.reflect.visitor.ElementIndex;
 import spoon.reflect.visitor.Filter;
-import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.QueueProcessingManager;
 import spoon.support.reflect.declaration.CtElementImpl;
 import spoon.support.reflect.declaration.CtPackageImpl;
@@ -71,6 +71,8 @@ public class CtModelImpl implements CtModel {
 
 	private final CtPackage rootPackage = new CtRootPackage();
 
+	private volatile ElementIndex elementIndex;
+
 	public CtModelImpl(Factory f) {
 		rootPackage.setFactory(f);
 	}
@@ -93,7 +95,17 @@ public class CtModelImpl implements CtModel {
 
 	@Override
 	public Collection<CtPackage> getAllPackages() {
-		return Collections.unmodifiableCollection(rootPackage.getElements(new TypeFilter<>(CtPackage.class)));
+		// packages are only contained by packages, there is no need to scan the types
+		List<CtPackage> packages = new ArrayList<>();
+		addAllPackages(packages, rootPackage);
+		return Collections.unmodifiableCollection(packages);
+	}
+
+	private void addAllPackages(List<CtPackage> packages, CtPackage pack) {
+		packages.add(pack);
+		for (CtPackage subPackage : pack.getPackages()) {
+			addAllPackages(packages, subPackage);
+		}
 	}
 
 
@@ -106,7 +118,21 @@ public class CtModelImpl implements CtModel {
 
 	@Override
 	public <E extends CtElement> List<E> getElements(Filter<E> filter) {
+		ElementIndex index = elementIndex;
+		if (index != null) {
+			return index.getElements(filter);
+		}
 		return getRootPackage().getElements(filter);
 	}
 
+	@Override
+	public void buildElementIndex() {
+		elementIndex = new ElementIndex(rootPackage);
+	}
+
+	@Override
+	public void clearElementIndex() {
+		elementIndex = null;
+	}
+
 }
@@ -55,18 +55,18 @@ public interface SourcePosition {
 	int getEndLine();
 
 	/**
-	 * Gets the column in the source file (1 indexed). This method is slow
-	 * because it has to calculate the column number depending on
-	 * {@link Environment#getTabulationSize()} and
-	 * {@link CompilationUnit#getOriginalSourceCode()}. Prefer {@link #getSourceStart()}.
+	 * Gets the column in the source file (1 indexed), where a tabulation
+	 * counts as {@link Environment#getTabulationSize()} columns. The
+	 * tabulations of {@link CompilationUnit#getOriginalSourceCode()} are
+	 * indexed once per compilation unit.
 	 */
 	int getColumn();
 
 	/**
-	 * Gets the end column in the source file (1 indexed). This method is slow
-	 * because it has to calculate the column number depending on
-	 * {@link Environment#getTabulationSize()} and
-	 * {@link CompilationUnit#getOriginalSourceCode()}. Prefer {@link #getSourceEnd()}.
+	 * Gets the end column in the source file (1 indexed), where a tabulation
+	 * counts as {@link Environment#getTabulationSize()} columns. The
+	 * tabulations of {@link CompilationUnit#getOriginalSourceCode()} are
+	 * indexed once per compilation unit.
 	 */
 	int getEndColumn();
 
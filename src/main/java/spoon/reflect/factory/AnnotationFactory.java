@@ -55,7 +55,9 @@ public class AnnotationFactory extends TypeFactory {
 	public <T extends Annotation> CtAnnotationType<?> create(CtPackage owner, String simpleName) {
 		CtAnnotationType<T> t = factory.Core().createAnnotationType();
 		t.setSimpleName(simpleName);
-		owner.getTypes().add(t);
+		synchronized (factory.getModel()) {
+			owner.getTypes().add(t);
+		}
 		return t;
 	}
 
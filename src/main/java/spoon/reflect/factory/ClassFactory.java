@@ -60,7 +60,9 @@ public class ClassFactory extends TypeFactory {
 	public <T> CtClass<T> create(CtPackage owner, String simpleName) {
 		CtClass<T> c = factory.Core().createClass();
 		c.setSimpleName(simpleName);
-		owner.addType(c);
+		synchronized (factory.getModel()) {
+			owner.addType(c);
+		}
 		return c;
 	}
 
@@ -62,17 +62,20 @@ public class CompilationUnitFactory extends SubFactory {
 	 * Creates or gets a compilation unit for a given file path.
 	 */
 	public CompilationUnit create(String filePath) {
-		CompilationUnit cu = cachedCompilationUnits.get(filePath);
-		if (cu == null) {
-			if ("".equals(filePath)) {
-				cu = factory.Core().createVirtualCompilationUnit();
-				return cu;
+		// the map is shared by all the threads which build or process the model
+		synchronized (factory.getModel()) {
+			CompilationUnit cu = cachedCompilationUnits.get(filePath);
+			if (cu == null) {
+				if ("".equals(filePath)) {
+					cu = factory.Core().createVirtualCompilationUnit();
+					return cu;
+				}
+				cu = factory.Core().createCompilationUnit();
+				cu.setFile(new File(filePath));
+				cachedCompilationUnits.put(filePath, cu);
 			}
-			cu = factory.Core().createCompilationUnit();
-			cu.setFile(new File(filePath));
-			cachedCompilationUnits.put(filePath, cu);
+			return cu;
 		}
-		return cu;
 	}
 
 	/**
@@ -46,7 +46,9 @@ public class EnumFactory extends TypeFactory {
 	public CtEnum<?> create(CtPackage owner, String simpleName) {
 		CtEnum<?> e = factory.Core().createEnum();
 		e.setSimpleName(simpleName);
-		owner.addType(e);
+		synchronized (factory.getModel()) {
+			owner.addType(e);
+		}
 		return e;
 	}
 
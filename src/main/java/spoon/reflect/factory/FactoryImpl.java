@@ -40,7 +40,9 @@ import java.util.Random;
 import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Implements {@link Factory}
+ * Implements {@link Factory}. The sub-factories are created lazily, and
+ * safely when the factory is used by several threads (see
+ * {@link spoon.compiler.Environment#getModelBuildingThreads()}).
  */
 public class FactoryImpl implements Factory, Serializable {
 
@@ -57,7 +59,7 @@ public class FactoryImpl implements Factory, Serializable {
 		return parentFactory;
 	}
 
-	private transient AnnotationFactory annotation;
+	private transient volatile AnnotationFactory annotation;
 
 	/**
 	 * The {@link CtAnnotationType} sub-factory.
@@ -65,12 +67,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public AnnotationFactory Annotation() {
 		if (annotation == null) {
-			annotation = new AnnotationFactory(this);
+			synchronized (this) {
+				if (annotation == null) {
+					annotation = new AnnotationFactory(this);
+				}
+			}
 		}
 		return annotation;
 	}
 
-	private transient ClassFactory clazz;
+	private transient volatile ClassFactory clazz;
 
 	/**
 	 * The {@link CtClass} sub-factory.
@@ -78,12 +84,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public ClassFactory Class() {
 		if (clazz == null) {
-			clazz = new ClassFactory(this);
+			synchronized (this) {
+				if (clazz == null) {
+					clazz = new ClassFactory(this);
+				}
+			}
 		}
 		return clazz;
 	}
 
-	private transient CodeFactory code;
+	private transient volatile CodeFactory code;
 
 	/**
 	 * The {@link spoon.reflect.code.CtCodeElement} sub-factory.
@@ -91,12 +101,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public CodeFactory Code() {
 		if (code == null) {
-			code = new CodeFactory(this);
+			synchronized (this) {
+				if (code == null) {
+					code = new CodeFactory(this);
+				}
+			}
 		}
 		return code;
 	}
 
-	private transient ConstructorFactory constructor;
+	private transient volatile ConstructorFactory constructor;
 
 	/**
 	 * The {@link CtConstructor} sub-factory.
@@ -104,12 +118,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public ConstructorFactory Constructor() {
 		if (constructor == null) {
-			constructor = new ConstructorFactory(this);
+			synchronized (this) {
+				if (constructor == null) {
+					constructor = new ConstructorFactory(this);
+				}
+			}
 		}
 		return constructor;
 	}
 
-	private transient CoreFactory core;
+	private transient volatile CoreFactory core;
 
 	/**
 	 * The core factory.
@@ -117,12 +135,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public CoreFactory Core() {
 		if (core == null) {
-			core = new DefaultCoreFactory();
+			synchronized (this) {
+				if (core == null) {
+					core = new DefaultCoreFactory();
+				}
+			}
 		}
 		return core;
 	}
 
-	private transient EnumFactory enumF;
+	private transient volatile EnumFactory enumF;
 
 	/**
 	 * The {@link CtEnum} sub-factory.
@@ -130,12 +152,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public EnumFactory Enum() {
 		if (enumF == null) {
-			enumF = new EnumFactory(this);
+			synchronized (this) {
+				if (enumF == null) {
+					enumF = new EnumFactory(this);
+				}
+			}
 		}
 		return enumF;
 	}
 
-	private transient Environment environment;
+	private transient volatile Environment environment;
 
 	/**
 	 * Gets the Spoon environment that encloses this factory.
@@ -143,12 +169,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public Environment getEnvironment() {
 		if (environment == null) {
-			environment = new StandardEnvironment();
+			synchronized (this) {
+				if (environment == null) {
+					environment = new StandardEnvironment();
+				}
+			}
 		}
 		return environment;
 	}
 
-	private transient ExecutableFactory executable;
+	private transient volatile ExecutableFactory executable;
 
 	/**
 	 * The {@link CtExecutable} sub-factory.
@@ -156,12 +186,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public ExecutableFactory Executable() {
 		if (executable == null) {
-			executable = new ExecutableFactory(this);
+			synchronized (this) {
+				if (executable == null) {
+					executable = new ExecutableFactory(this);
+				}
+			}
 		}
 		return executable;
 	}
 
-	private transient EvalFactory eval;
+	private transient volatile EvalFactory eval;
 
 	/**
 	 * The evaluators sub-factory.
@@ -169,12 +203,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public EvalFactory Eval() {
 		if (eval == null) {
-			eval = new EvalFactory(this);
+			synchronized (this) {
+				if (eval == null) {
+					eval = new EvalFactory(this);
+				}
+			}
 		}
 		return eval;
 	}
 
-	private transient FieldFactory field;
+	private transient volatile FieldFactory field;
 
 	/**
 	 * The {@link CtField} sub-factory.
@@ -182,7 +220,11 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public FieldFactory Field() {
 		if (field == null) {
-			field = new FieldFactory(this);
+			synchronized (this) {
+				if (field == null) {
+					field = new FieldFactory(this);
+				}
+			}
 		}
 		return field;
 	}
@@ -190,7 +232,7 @@ public class FactoryImpl implements Factory, Serializable {
 	/**
 	 * The {@link CtInterface} sub-factory.
 	 */
-	private transient InterfaceFactory interfaceF;
+	private transient volatile InterfaceFactory interfaceF;
 
 	/**
 	 * The {@link CtInterface} sub-factory.
@@ -198,12 +240,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public InterfaceFactory Interface() {
 		if (interfaceF == null) {
-			interfaceF = new InterfaceFactory(this);
+			synchronized (this) {
+				if (interfaceF == null) {
+					interfaceF = new InterfaceFactory(this);
+				}
+			}
 		}
 		return interfaceF;
 	}
 
-	private transient MethodFactory methodF;
+	private transient volatile MethodFactory methodF;
 
 	/**
 	 * The {@link CtMethod} sub-factory.
@@ -211,12 +257,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public MethodFactory Method() {
 		if (methodF == null) {
-			methodF = new MethodFactory(this);
+			synchronized (this) {
+				if (methodF == null) {
+					methodF = new MethodFactory(this);
+				}
+			}
 		}
 		return methodF;
 	}
 
-	private transient PackageFactory packageF;
+	private transient volatile PackageFactory packageF;
 
 	/**
 	 * The {@link CtPackage} sub-factory.
@@ -224,12 +274,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public PackageFactory Package() {
 		if (packageF == null) {
-			packageF = new PackageFactory(this);
+			synchronized (this) {
+				if (packageF == null) {
+					packageF = new PackageFactory(this);
+				}
+			}
 		}
 		return packageF;
 	}
 
-	private transient CompilationUnitFactory compilationUnit;
+	private transient volatile CompilationUnitFactory compilationUnit;
 
 	/**
 	 * The {@link CompilationUnit} sub-factory.
@@ -237,12 +291,16 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public CompilationUnitFactory CompilationUnit() {
 		if (compilationUnit == null) {
-			compilationUnit = new CompilationUnitFactory(this);
+			synchronized (this) {
+				if (compilationUnit == null) {
+					compilationUnit = new CompilationUnitFactory(this);
+				}
+			}
 		}
 		return compilationUnit;
 	}
 
-	private transient TypeFactory type;
+	private transient volatile TypeFactory type;
 
 	/**
 	 * The {@link CtType} sub-factory.
@@ -250,7 +308,11 @@ public class FactoryImpl implements Factory, Serializable {
 	@Override
 	public TypeFactory Type() {
 		if (type == null) {
-			type = new TypeFactory(this);
+			synchronized (this) {
+				if (type == null) {
+					type = new TypeFactory(this);
+				}
+			}
 		}
 		return type;
 	}
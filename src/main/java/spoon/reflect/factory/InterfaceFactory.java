@@ -41,7 +41,9 @@ public class InterfaceFactory extends TypeFactory {
 	public <T> CtInterface<T> create(CtPackage owner, String simpleName) {
 		CtInterface<T> i = factory.Core().createInterface();
 		i.setSimpleName(simpleName);
-		owner.addType(i);
+		synchronized (factory.getModel()) {
+			owner.addType(i);
+		}
 		return i;
 	}
 
@@ -21,9 +21,7 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.reference.CtPackageReference;
 
 import java.io.Serializable;
-import java.util.ArrayList;
 import java.util.Collection;
-import java.util.List;
 import java.util.StringTokenizer;
 
 /**
@@ -97,7 +95,9 @@ public class PackageFactory extends SubFactory implements Serializable {
 	}
 
 	/**
-	 * Gets or creates a package.
+	 * Gets or creates a package. The package tree is shared by all the
+	 * threads which build or process the model, so it is modified under the
+	 * model lock.
 	 *
 	 * @param qualifiedName
 	 * 		the full name of the package
@@ -107,20 +107,22 @@ public class PackageFactory extends SubFactory implements Serializable {
 			return factory.getModel().getRootPackage();
 		}
 		StringTokenizer token = new StringTokenizer(qualifiedName, CtPackage.PACKAGE_SEPARATOR);
-		CtPackage last = factory.getModel().getRootPackage();
-
-		while (token.hasMoreElements()) {
-			String name = token.nextToken();
-			CtPackage next = last.getPackage(name);
-			if (next == null) {
-				next = factory.Core().createPackage();
-				next.setSimpleName(name);
-				last.addPackage(next);
+		synchronized (factory.getModel()) {
+			CtPackage last = factory.getModel().getRootPackage();
+
+			while (token.hasMoreElements()) {
+				String name = token.nextToken();
+				CtPackage next = last.getPackage(name);
+				if (next == null) {
+					next = factory.Core().createPackage();
+					next.setSimpleName(name);
+					last.addPackage(next);
+				}
+				last = next;
 			}
-			last = next;
-		}
 
-		return last;
+			return last;
+		}
 	}
 
 	/**
@@ -135,15 +137,17 @@ public class PackageFactory extends SubFactory implements Serializable {
 			throw new RuntimeException("Invalid package name " + qualifiedName);
 		}
 		StringTokenizer token = new StringTokenizer(qualifiedName, CtPackage.PACKAGE_SEPARATOR);
-		CtPackage current = factory.getModel().getRootPackage();
-		if (token.hasMoreElements()) {
-			current = current.getPackage(token.nextToken());
-			while (token.hasMoreElements() && current != null) {
+		synchronized (factory.getModel()) {
+			CtPackage current = factory.getModel().getRootPackage();
+			if (token.hasMoreElements()) {
 				current = current.getPackage(token.nextToken());
+				while (token.hasMoreElements() && current != null) {
+					current = current.getPackage(token.nextToken());
+				}
 			}
-		}
 
-		return current;
+			return current;
+		}
 	}
 
 	/**
@@ -161,13 +165,4 @@ public class PackageFactory extends SubFactory implements Serializable {
 		return factory.getModel().getRootPackage();
 	}
 
-	private List<CtPackage> getSubPackageList(CtPackage pack) {
-		List<CtPackage> packs = new ArrayList<>();
-		packs.add(pack);
-		for (CtPackage p : pack.getPackages()) {
-			packs.addAll(getSubPackageList(p));
-		}
-		return packs;
-	}
-
 }
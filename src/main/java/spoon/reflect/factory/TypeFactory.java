@@ -29,6 +29,7 @@ import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.DefaultCoreFactory;
 import spoon.support.StandardEnvironment;
+import spoon.support.util.ShadowTypeCache;
 import spoon.support.visitor.java.JavaReflectionTreeBuilder;
 
 import java.lang.annotation.Annotation;
@@ -76,6 +77,9 @@ public class TypeFactory extends SubFactory {
 	public final CtTypeReference<Date> DATE = createReference(Date.class);
 	public final CtTypeReference<Object> OBJECT = createReference(Object.class);
 
+	/** only used by the type sub-factory of the factory, see {@link #getShadowTypeCache()} */
+	private volatile ShadowTypeCache shadowTypeCache;
+
 	/**
 	 * Returns a reference on the null type (type of null).
 	 */
@@ -406,18 +410,21 @@ public class TypeFactory extends SubFactory {
 		}
 
 		int packageIndex = qualifiedName.lastIndexOf(CtPackage.PACKAGE_SEPARATOR);
-		CtPackage pack;
-		if (packageIndex > 0) {
-			pack = factory.Package().get(qualifiedName.substring(0, packageIndex));
-		} else {
-			pack = factory.Package().getRootPackage();
-		}
+		// the types of the packages may be added concurrently (see PackageFactory#getOrCreate(String))
+		synchronized (factory.getModel()) {
+			CtPackage pack;
+			if (packageIndex > 0) {
+				pack = factory.Package().get(qualifiedName.substring(0, packageIndex));
+			} else {
+				pack = factory.Package().getRootPackage();
+			}
 
-		if (pack == null) {
-			return null;
-		}
+			if (pack == null) {
+				return null;
+			}
 
-		return (CtType<T>) pack.getType(qualifiedName.substring(packageIndex + 1));
+			return (CtType<T>) pack.getType(qualifiedName.substring(packageIndex + 1));
+		}
 	}
 
 	/**
@@ -454,6 +461,9 @@ public class TypeFactory extends SubFactory {
 	 * Gets a type from its runtime Java class. If the class isn't in the spoon path,
 	 * the class will be build from the Java reflection and will be marked as
 	 * shadow (see {@link spoon.reflect.declaration.CtShadowable}).
+	 * The shadow types are cached (see {@link #getShadowTypeCache()}), so the
+	 * same instance is returned to all the callers: it must not be modified,
+	 * it has to be cloned first.
 	 *
 	 * @param <T>
 	 * 		actual type of the class
@@ -465,11 +475,54 @@ public class TypeFactory extends SubFactory {
 	public <T> CtType<T> get(Class<?> cl) {
 		final CtType<T> aType = get(cl.getName());
 		if (aType == null) {
-			return new JavaReflectionTreeBuilder(createFactory()).scan((Class<T>) cl);
+			final ShadowTypeCache cache = getShadowTypeCache();
+			CtType<T> shadowType = cache.get(cl);
+			if (shadowType == null) {
+				shadowType = new JavaReflectionTreeBuilder(createFactory()).scan((Class<T>) cl);
+				cache.put(cl, shadowType);
+			}
+			return shadowType;
 		}
 		return aType;
 	}
 
+	/**
+	 * Returns the cache of the shadow types built by {@link #get(Class)}. There
+	 * is one cache per factory: the sub-factories of the types (e.g.
+	 * {@link ClassFactory}) use the cache of {@link Factory#Type()}.
+	 */
+	public ShadowTypeCache getShadowTypeCache() {
+		TypeFactory typeFactory = factory.Type();
+		if (typeFactory != this) {
+			return typeFactory.getShadowTypeCache();
+		}
+		if (shadowTypeCache == null) {
+			synchronized (this) {
+				if (shadowTypeCache == null) {
+					shadowTypeCache = new ShadowTypeCache();
+				}
+			}
+		}
+		return shadowTypeCache;
+	}
+
+	/**
+	 * Sets the cache of the shadow types built by {@link #get(Class)}, e.g. to
+	 * change its size or eviction policy. It is shared by all the sub-factories
+	 * of the types of the factory.
+	 */
+	public void setShadowTypeCache(ShadowTypeCache shadowTypeCache) {
+		if (shadowTypeCache == null) {
+			throw new IllegalArgumentException("The shadow type cache cannot be null");
+		}
+		TypeFactory typeFactory = factory.Type();
+		if (typeFactory != this) {
+			typeFactory.setShadowTypeCache(shadowTypeCache);
+			return;
+		}
+		this.shadowTypeCache = shadowTypeCache;
+	}
+
 	/**
 	 * Gets the declaring type name for a given Java qualified name.
 	 */
@@ -0,0 +1,126 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.reflect.visitor;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import spoon.reflect.code.CtAssert;
+import spoon.reflect.code.CtCFlowBreak;
+import spoon.reflect.code.CtCatch;
+import spoon.reflect.code.CtIf;
+import spoon.reflect.code.CtLoop;
+import spoon.reflect.code.CtStatementList;
+import spoon.reflect.code.CtSwitch;
+import spoon.reflect.code.CtSynchronized;
+import spoon.reflect.code.CtTry;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtExecutable;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtTypeMember;
+import spoon.reflect.declaration.CtVariable;
+import spoon.reflect.reference.CtReference;
+
+/**
+ * Tells which types of elements may be contained, directly or not, by an
+ * element, so that a scanner looking for some types of elements can skip
+ * the subtrees which cannot contain them.
+ *
+ * Almost any element may be contained by a statement or an expression,
+ * because of the local and anonymous classes. The rules are thus about:
+ * <ul>
+ * <li>the references, which only contain references, comments and type
+ * annotations (whose values are constant expressions)</li>
+ * <li>the packages, which are only contained by packages</li>
+ * </ul>
+ *
+ * An instance memoizes the answers for a set of sought types, by the
+ * runtime class of the elements.
+ */
+public class ContainmentRules {
+
+	/**
+	 * The types of elements which are never contained by a reference.
+	 */
+	private static final List<Class<?>> NOT_IN_REFERENCES = Arrays.<Class<?>>asList(
+			CtPackage.class,
+			CtTypeMember.class,
+			CtExecutable.class,
+			CtVariable.class,
+			CtStatementList.class,
+			CtCatch.class,
+			CtLoop.class,
+			CtIf.class,
+			CtTry.class,
+			CtSwitch.class,
+			CtSynchronized.class,
+			CtCFlowBreak.class,
+			CtAssert.class);
+
+	private final Collection<? extends Class<?>> types;
+
+	private final Map<Class<?>, Boolean> decisions = new HashMap<>();
+
+	/**
+	 * @param types
+	 * 		the sought types of elements
+	 */
+	public ContainmentRules(Collection<? extends Class<?>> types) {
+		this.types = types;
+	}
+
+	/**
+	 * Tells if the children of the given element may be or contain an
+	 * element of one of the sought types.
+	 */
+	public boolean canContain(CtElement element) {
+		Boolean decision = decisions.get(element.getClass());
+		if (decision == null) {
+			decision = false;
+			for (Class<?> type : types) {
+				if (canContain(element.getClass(), type)) {
+					decision = true;
+					break;
+				}
+			}
+			decisions.put(element.getClass(), decision);
+		}
+		return decision;
+	}
+
+	/**
+	 * Tells if the children of the elements of the given class may be or
+	 * contain an element of the given type.
+	 */
+	public static boolean canContain(Class<?> elementClass, Class<?> type) {
+		if (CtReference.class.isAssignableFrom(elementClass)) {
+			for (Class<?> notInReferences : NOT_IN_REFERENCES) {
+				if (notInReferences.isAssignableFrom(type)) {
+					return false;
+				}
+			}
+			return true;
+		}
+		if (CtPackage.class.isAssignableFrom(type)) {
+			return CtPackage.class.isAssignableFrom(elementClass);
+		}
+		return true;
+	}
+}
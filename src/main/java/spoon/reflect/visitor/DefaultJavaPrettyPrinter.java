@@ -16,6 +16,7 @@
  */
 package spoon.reflect.visitor;
 
+import spoon.SpoonException;
 import spoon.compiler.Environment;
 import spoon.reflect.code.CtAnnotationFieldAccess;
 import spoon.reflect.code.CtArrayAccess;
@@ -1722,10 +1723,16 @@ public class DefaultJavaPrettyPrinter implements CtVisitor, PrettyPrinter {
 		return printer.toString();
 	}
 
+	/**
+	 * Resets the result and the printing state, keeping the buffer of the
+	 * printer, so that the same printer can print many elements.
+	 */
 	@Override
 	public void reset() {
-		printer = new PrinterHelper(env);
-		elementPrinterHelper.setPrinter(printer);
+		printer.reset();
+		context = new PrintingContext();
+		importsContext = new ImportScannerImpl();
+		sourceCompilationUnit = null;
 	}
 
 	@Override
@@ -1742,6 +1749,25 @@ public class DefaultJavaPrettyPrinter implements CtVisitor, PrettyPrinter {
 		}
 	}
 
+	/**
+	 * Prints the given types as {@link #calculate(CompilationUnit, List)}
+	 * does, but streams the code to the given output as it goes instead of
+	 * keeping the whole code in memory. The line number mapping is still
+	 * available after, but {@link #getResult()} is then empty.
+	 *
+	 * @throws SpoonException
+	 * 		if the code cannot be written to the output
+	 */
+	public void calculate(CompilationUnit sourceCompilationUnit, List<CtType<?>> types, Appendable output) {
+		printer.setOutput(output);
+		try {
+			calculate(sourceCompilationUnit, types);
+			printer.flush();
+		} finally {
+			printer.setOutput(null);
+		}
+	}
+
 	@Override
 	public Map<Integer, Integer> getLineNumberMapping() {
 		return printer.getLineNumberMapping();
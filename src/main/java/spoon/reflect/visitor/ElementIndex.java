@@ -0,0 +1,145 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.reflect.visitor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.visitor.filter.AbstractFilter;
+
+/**
+ * An index of the elements of a tree by their runtime class, built by a
+ * single scan. When many queries are run on the same tree (e.g. one per
+ * processor), querying the index with an {@link AbstractFilter} only goes
+ * through the elements of the filtered type, instead of scanning the whole
+ * tree again as {@link Query#getElements(CtElement, Filter)} does.
+ *
+ * The index is a snapshot: it does not observe the model, so it must be
+ * built again when elements are added to or removed from the tree. The
+ * elements are returned in the order of {@link Query#getElements(CtElement, Filter)}.
+ * The model can keep an index of all its elements, used by its queries
+ * (see {@link spoon.reflect.CtModel#buildElementIndex()}).
+ */
+public class ElementIndex {
+
+	private final List<CtElement> elements = new ArrayList<>();
+
+	private final Map<Class<?>, Positions> positionsByClass = new HashMap<>();
+
+	/**
+	 * Indexes the given element and all its children.
+	 */
+	public ElementIndex(CtElement rootElement) {
+		new CtScanner() {
+			@Override
+			public void scan(CtElement element) {
+				if (element != null) {
+					index(element);
+				}
+				super.scan(element);
+			}
+		}.scan(rootElement);
+	}
+
+	private void index(CtElement element) {
+		Positions positions = positionsByClass.get(element.getClass());
+		if (positions == null) {
+			positions = new Positions();
+			positionsByClass.put(element.getClass(), positions);
+		}
+		positions.add(elements.size());
+		elements.add(element);
+	}
+
+	/**
+	 * Returns the number of indexed elements.
+	 */
+	public int size() {
+		return elements.size();
+	}
+
+	/**
+	 * Returns all the indexed elements that match the filter.
+	 */
+	public <E extends CtElement> List<E> getElements(Filter<E> filter) {
+		List<E> result = new ArrayList<>();
+		Class<?> filteredType = filter instanceof AbstractFilter ? ((AbstractFilter<?>) filter).getType() : null;
+		if (filteredType == null || filteredType == CtElement.class) {
+			for (CtElement element : elements) {
+				match(filter, element, result);
+			}
+			return result;
+		}
+		for (int position : getPositions(filteredType)) {
+			match(filter, elements.get(position), result);
+		}
+		return result;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <E extends CtElement> void match(Filter<E> filter, CtElement element, List<E> result) {
+		try {
+			if (filter.matches((E) element)) {
+				result.add((E) element);
+			}
+		} catch (ClassCastException e) {
+			// expected, some elements are not of type E (see QueryVisitor)
+		}
+	}
+
+	/**
+	 * Returns the sorted positions of the elements of the given type.
+	 */
+	private int[] getPositions(Class<?> type) {
+		List<Positions> matching = new ArrayList<>();
+		int size = 0;
+		for (Map.Entry<Class<?>, Positions> entry : positionsByClass.entrySet()) {
+			if (type.isAssignableFrom(entry.getKey())) {
+				matching.add(entry.getValue());
+				size += entry.getValue().size;
+			}
+		}
+		int[] positions = new int[size];
+		int i = 0;
+		for (Positions p : matching) {
+			System.arraycopy(p.values, 0, positions, i, p.size);
+			i += p.size;
+		}
+		if (matching.size() > 1) {
+			// restores the scanning order
+			Arrays.sort(positions);
+		}
+		return positions;
+	}
+
+	/** a growable array of positions in the scanning order */
+	private static class Positions {
+		int[] values = new int[8];
+		int size = 0;
+
+		void add(int position) {
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = position;
+		}
+	}
+}
@@ -38,9 +38,10 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
-import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.TreeMap;
 
 /**
@@ -48,13 +49,45 @@ import java.util.TreeMap;
  */
 public class ImportScannerImpl extends CtScanner implements ImportScanner {
 
-	private static final Collection<String> namesPresentInJavaLang8 =
-			Collections.singletonList("FunctionalInterface");
-	private static final Collection<String> namesPresentInJavaLang9 = Arrays.asList(
-			"ProcessHandle", "StackWalker", "StackFramePermission");
+	/**
+	 * The simple names of the public top-level types of java.lang.
+	 * The names of all the versions are used whatever the compliance level: it
+	 * makes the generated code a little more compatible with future versions
+	 * of Java.
+	 */
+	private static final Set<String> namesPresentInJavaLang = new HashSet<>(Arrays.asList(
+			// interfaces
+			"Appendable", "AutoCloseable", "CharSequence", "Cloneable", "Comparable", "Iterable", "Readable", "Runnable",
+			// classes
+			"Boolean", "Byte", "Character", "Class", "ClassLoader", "ClassValue", "Compiler", "Double", "Enum", "Float",
+			"InheritableThreadLocal", "Integer", "Long", "Math", "Number", "Object", "Package", "Process", "ProcessBuilder",
+			"Runtime", "RuntimePermission", "SecurityManager", "Short", "StackTraceElement", "StrictMath", "String",
+			"StringBuffer", "StringBuilder", "System", "Thread", "ThreadGroup", "ThreadLocal", "Throwable", "Void",
+			// exceptions
+			"ArithmeticException", "ArrayIndexOutOfBoundsException", "ArrayStoreException", "ClassCastException",
+			"ClassNotFoundException", "CloneNotSupportedException", "EnumConstantNotPresentException", "Exception",
+			"IllegalAccessException", "IllegalArgumentException", "IllegalMonitorStateException", "IllegalStateException",
+			"IllegalThreadStateException", "IndexOutOfBoundsException", "InstantiationException", "InterruptedException",
+			"NegativeArraySizeException", "NoSuchFieldException", "NoSuchMethodException", "NullPointerException",
+			"NumberFormatException", "ReflectiveOperationException", "RuntimeException", "SecurityException",
+			"StringIndexOutOfBoundsException", "TypeNotPresentException", "UnsupportedOperationException",
+			// errors
+			"AbstractMethodError", "AssertionError", "BootstrapMethodError", "ClassCircularityError", "ClassFormatError",
+			"Error", "ExceptionInInitializerError", "IllegalAccessError", "IncompatibleClassChangeError",
+			"InstantiationError", "InternalError", "LinkageError", "NoClassDefFoundError", "NoSuchFieldError",
+			"NoSuchMethodError", "OutOfMemoryError", "StackOverflowError", "ThreadDeath", "UnknownError",
+			"UnsatisfiedLinkError", "UnsupportedClassVersionError", "VerifyError", "VirtualMachineError",
+			// annotations
+			"Deprecated", "Override", "SafeVarargs", "SuppressWarnings",
+			// Java 8
+			"FunctionalInterface",
+			// Java 9
+			"IllegalCallerException", "LayerInstantiationException", "Module", "ModuleLayer", "ProcessHandle",
+			"StackFramePermission", "StackWalker",
+			// Java 16 and later
+			"MatchException", "Record", "WrongThreadException"));
 
 	private Map<String, CtTypeReference<?>> imports = new TreeMap<>();
-	private Map<String, Boolean> namesPresentInJavaLang = new HashMap<>();
 
 	@Override
 	public <T> void visitCtFieldRead(CtFieldRead<T> fieldRead) {
@@ -62,7 +95,6 @@ public class ImportScannerImpl extends CtScanner implements ImportScanner {
 		scan(fieldRead.getVariable());
 		scan(fieldRead.getAnnotations());
 		scan(fieldRead.getTypeCasts());
-		scan(fieldRead.getVariable());
 		scan(fieldRead.getTarget());
 		exit(fieldRead);
 	}
@@ -73,7 +105,6 @@ public class ImportScannerImpl extends CtScanner implements ImportScanner {
 		scan(fieldWrite.getVariable());
 		scan(fieldWrite.getAnnotations());
 		scan(fieldWrite.getTypeCasts());
-		scan(fieldWrite.getVariable());
 		scan(fieldWrite.getTarget());
 		exit(fieldWrite);
 	}
@@ -233,12 +264,13 @@ public class ImportScannerImpl extends CtScanner implements ImportScanner {
 		if (imports.containsKey(ref.getSimpleName())) {
 			return isImported(ref);
 		}
+		CtPackageReference pack = ref.getPackage();
 		// don't import unnamed package elements
-		if (ref.getPackage() == null || ref.getPackage().isUnnamedPackage()) {
+		if (pack == null || pack.isUnnamedPackage()) {
 			return false;
 		}
-		if (!ref.getPackage().getSimpleName().equals("java.lang")) {
-			if (classNamePresentInJavaLang(ref)) {
+		if (!pack.getSimpleName().equals("java.lang")) {
+			if (namesPresentInJavaLang.contains(ref.getSimpleName())) {
 				// Don't import class with names clashing with some classes present in java.lang,
 				// because it leads to undecidability and compilation errors. I. e. always leave
 				// com.mycompany.String fully-qualified.
@@ -248,29 +280,4 @@ public class ImportScannerImpl extends CtScanner implements ImportScanner {
 		imports.put(ref.getSimpleName(), ref);
 		return true;
 	}
-
-	private boolean classNamePresentInJavaLang(CtTypeReference<?> ref) {
-		Boolean presentInJavaLang = namesPresentInJavaLang.get(ref.getSimpleName());
-		if (presentInJavaLang == null) {
-			// The following procedure of determining if the handle is present in Java Lang or
-			// not produces "false positives" if the analyzed source complianceLevel is > 6.
-			// For example, it reports that FunctionalInterface is present in java.lang even
-			// for compliance levels 6, 7. But this is not considered a bad thing, in opposite,
-			// it makes generated code a little more compatible with future versions of Java.
-			if (namesPresentInJavaLang8.contains(ref.getSimpleName())
-					|| namesPresentInJavaLang9.contains(ref.getSimpleName())) {
-				presentInJavaLang = true;
-			} else {
-				// Assuming Spoon's own runtime environment is Java 7+
-				try {
-					Class.forName("java.lang." + ref.getSimpleName());
-					presentInJavaLang = true;
-				} catch (ClassNotFoundException e) {
-					presentInJavaLang = false;
-				}
-			}
-			namesPresentInJavaLang.put(ref.getSimpleName(), presentInJavaLang);
-		}
-		return presentInJavaLang;
-	}
 }
@@ -49,8 +49,9 @@ public abstract class Query extends CtScanner {
 	 */
 	public static <E extends CtElement> List<E> getElements(Factory factory,
 															Filter<E> filter) {
+		// the model may have indexed its elements (see CtModel#buildElementIndex())
 		List<E> e = new ArrayList<>();
-		e.addAll(getElements(factory.Package().getRootPackage(), filter));
+		e.addAll(factory.getModel().getElements(filter));
 		return e;
 	}
 
@@ -17,6 +17,7 @@
 package spoon.reflect.visitor;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import spoon.reflect.declaration.CtElement;
@@ -24,12 +25,15 @@ import spoon.reflect.visitor.filter.AbstractFilter;
 
 /**
  * A simple visitor that takes a filter and returns all the elements that match
- * it.
+ * it. When the filter is an {@link AbstractFilter}, the subtrees which cannot
+ * contain elements of the filtered type are not scanned (see
+ * {@link ContainmentRules}).
  */
 public class QueryVisitor<T extends CtElement> extends CtScanner {
 	private final Filter<T> filter;
 	private final Class<T> filteredType;
 	private final List<T> result = new ArrayList<>();
+	private final ContainmentRules containment;
 
 	/**
 	 * Constructs a query visitor with a given filter.
@@ -38,6 +42,7 @@ public class QueryVisitor<T extends CtElement> extends CtScanner {
 		super();
 		this.filter = filter;
 		filteredType = filter instanceof AbstractFilter ? ((AbstractFilter) filter).getType() : null;
+		containment = filteredType == null ? null : new ContainmentRules(Collections.singleton(filteredType));
 	}
 
 	/**
@@ -64,6 +69,8 @@ public class QueryVisitor<T extends CtElement> extends CtScanner {
 			// Still need to protect from CCE, if users extend Filter (instead of AbstractFilter) directly,
 			// but with concrete type parameter
 		}
-		super.scan(element);
+		if (containment == null || containment.canContain(element)) {
+			super.scan(element);
+		}
 	}
 }
@@ -20,6 +20,7 @@ import spoon.reflect.code.CtInvocation;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.visitor.Filter;
+import spoon.support.util.TypeHierarchyCache;
 
 /**
  * This simple filter matches all the accesses to a given executable or any
@@ -29,6 +30,8 @@ public class InvocationFilter implements Filter<CtInvocation<?>> {
 
 	private CtExecutableReference<?> executable;
 
+	private final TypeHierarchyCache typeHierarchy = new TypeHierarchyCache();
+
 	/**
 	 * Creates a new invocation filter.
 	 *
@@ -51,6 +54,6 @@ public class InvocationFilter implements Filter<CtInvocation<?>> {
 
 	@Override
 	public boolean matches(CtInvocation<?> invocation) {
-		return invocation.getExecutable().isOverriding(executable);
+		return typeHierarchy.isOverriding(invocation.getExecutable(), executable);
 	}
 }
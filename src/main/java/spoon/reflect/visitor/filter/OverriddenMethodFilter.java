@@ -19,12 +19,14 @@ package spoon.reflect.visitor.filter;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.visitor.Filter;
+import spoon.support.util.TypeHierarchyCache;
 
 /**
  * Gets all overridden method from the method given.
  */
 public class OverriddenMethodFilter implements Filter<CtMethod<?>> {
 	private final CtMethod<?> method;
+	private final TypeHierarchyCache typeHierarchy = new TypeHierarchyCache();
 
 	/**
 	 * Creates a new overridden method filter.
@@ -40,8 +42,8 @@ public class OverriddenMethodFilter implements Filter<CtMethod<?>> {
 	public boolean matches(CtMethod<?> element) {
 		final CtType expectedParent = method.getParent(CtType.class);
 		final CtType<?> currentParent = element.getParent(CtType.class);
-		return expectedParent.isAssignableFrom(currentParent.getReference()) //
+		return typeHierarchy.isAssignableFrom(expectedParent, currentParent.getReference()) //
 				&& !currentParent.equals(expectedParent) //
-				&& method.getReference().isOverriding(element.getReference());
+				&& typeHierarchy.isOverriding(method.getReference(), element.getReference());
 	}
 }
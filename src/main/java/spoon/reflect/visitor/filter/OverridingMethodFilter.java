@@ -19,12 +19,14 @@ package spoon.reflect.visitor.filter;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.visitor.Filter;
+import spoon.support.util.TypeHierarchyCache;
 
 /**
  * Gets all overriding method from the method given.
  */
 public class OverridingMethodFilter implements Filter<CtMethod<?>> {
 	private final CtMethod<?> method;
+	private final TypeHierarchyCache typeHierarchy = new TypeHierarchyCache();
 
 	/**
 	 * Creates a new overriding method filter.
@@ -40,8 +42,8 @@ public class OverridingMethodFilter implements Filter<CtMethod<?>> {
 	public boolean matches(CtMethod<?> element) {
 		final CtType expectedParent = method.getParent(CtType.class);
 		final CtType<?> currentParent = element.getParent(CtType.class);
-		return currentParent.isAssignableFrom(expectedParent.getReference()) //
+		return typeHierarchy.isAssignableFrom(currentParent, expectedParent.getReference()) //
 				&& !currentParent.equals(expectedParent) //
-				&& element.getReference().isOverriding(method.getReference());
+				&& typeHierarchy.isOverriding(element.getReference(), method.getReference());
 	}
 }
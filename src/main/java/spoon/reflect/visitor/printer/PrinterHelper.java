@@ -17,12 +17,14 @@
 package spoon.reflect.visitor.printer;
 
 import org.apache.log4j.Level;
+import spoon.SpoonException;
 import spoon.compiler.Environment;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.UnaryOperatorKind;
 import spoon.reflect.cu.CompilationUnit;
 import spoon.reflect.declaration.CtElement;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -38,9 +40,28 @@ public class PrinterHelper {
 	private Environment env;
 
 	/**
-	 * The string buffer in which the code is generated.
+	 * Capacity above which the buffer is not kept by {@link #reset()}, so that
+	 * a reused printer does not hold the memory of the largest printed file.
 	 */
-	private final StringBuffer sbf = new StringBuffer();
+	private static final int MAX_KEPT_CAPACITY = 1 << 16;
+
+	/**
+	 * The string buffer in which the code is generated. A printer is confined
+	 * to one thread, so the buffer is not synchronized.
+	 */
+	private StringBuilder sbf = new StringBuilder();
+
+	/**
+	 * Number of buffered chars above which the head of the buffer is written
+	 * to the output, when there is one.
+	 */
+	private static final int FLUSH_THRESHOLD = 1 << 13;
+
+	/**
+	 * The output to which the printed code is streamed, or null if the code
+	 * is only kept in the buffer.
+	 */
+	private Appendable output;
 
 	/**
 	 * Number of tabs when we print the source code.
@@ -61,6 +82,68 @@ public class PrinterHelper {
 		this.env = env;
 	}
 
+	/**
+	 * Clears the printed code and the output, so that the printer can be
+	 * reused. The buffer is kept unless it grew too large.
+	 */
+	public void reset() {
+		if (sbf.capacity() > MAX_KEPT_CAPACITY) {
+			sbf = new StringBuilder();
+		} else {
+			sbf.setLength(0);
+		}
+		output = null;
+		nbTabs = 0;
+		line = 1;
+		// the previous mapping may still be used by the caller of getLineNumberMapping()
+		lineNumberMapping = new HashMap<>();
+	}
+
+	/**
+	 * Sets the output to which the printed code is streamed, null to keep the
+	 * code in the buffer. While streaming, the buffer only keeps the end of the
+	 * code, which may still be changed by {@link #removeLastChar()},
+	 * {@link #removeLine()} and {@link #insertLine()}, and {@link #flush()} has
+	 * to be called at the end.
+	 */
+	public void setOutput(Appendable output) {
+		this.output = output;
+	}
+
+	/**
+	 * Writes all the buffered code to the output.
+	 */
+	public void flush() {
+		flush(sbf.length());
+	}
+
+	private void flush(int end) {
+		if (output == null || end <= 0) {
+			return;
+		}
+		try {
+			output.append(sbf, 0, end);
+		} catch (IOException e) {
+			throw new SpoonException(e);
+		}
+		sbf.delete(0, end);
+	}
+
+	/**
+	 * Writes the head of the buffer to the output. The code is only changed
+	 * back to the last non-white char before the trailing white chars, so the
+	 * buffer keeps from the non-white char before it.
+	 */
+	private void flushHead() {
+		int i = sbf.length() - 1;
+		for (int nonWhite = 0; i >= 0; i--) {
+			if (!isWhite(sbf.charAt(i)) && ++nonWhite == 2) {
+				break;
+			}
+		}
+		flush(i);
+	}
+
 	/**
 	 * Outputs a string.
 	 */
@@ -85,16 +168,19 @@ public class PrinterHelper {
 	public PrinterHelper writeln() {
 		sbf.append(LINE_SEPARATOR);
 		line++;
+		if (output != null && sbf.length() > FLUSH_THRESHOLD) {
+			flushHead();
+		}
 		return this;
 	}
 
 	public PrinterHelper writeTabs() {
 		for (int i = 0; i < nbTabs; i++) {
 			if (env.isUsingTabulations()) {
-				sbf.append("\t");
+				sbf.append('\t');
 			} else {
 				for (int j = 0; j < env.getTabulationSize(); j++) {
-					sbf.append(" ");
+					sbf.append(' ');
 				}
 			}
 		}
@@ -138,7 +224,7 @@ public class PrinterHelper {
 		String ls = LINE_SEPARATOR;
 		int i = sbf.length() - ls.length();
 		boolean hasWhite = false;
-		while (i > 0 && !ls.equals(sbf.substring(i, i + ls.length()))) {
+		while (i > 0 && !isLineSeparatorAt(i)) {
 			if (!isWhite(sbf.charAt(i))) {
 				return false;
 			}
@@ -154,6 +240,15 @@ public class PrinterHelper {
 		return true;
 	}
 
+	private boolean isLineSeparatorAt(int index) {
+		for (int j = 0; j < LINE_SEPARATOR.length(); j++) {
+			if (sbf.charAt(index + j) != LINE_SEPARATOR.charAt(j)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
 	private boolean isWhite(char c) {
 		return (c == ' ') || (c == '\t') || (c == '\n') || (c == '\r');
 	}
@@ -200,20 +295,21 @@ public class PrinterHelper {
 	 * Removes the last non-white character.
 	 */
 	public PrinterHelper removeLastChar() {
-		while (isWhite(sbf.charAt(sbf.length() - 1))) {
-			if (sbf.charAt(sbf.length() - 1) == '\n') {
-				line--;
-			}
-			sbf.deleteCharAt(sbf.length() - 1);
-		}
-		sbf.deleteCharAt(sbf.length() - 1);
-		while (isWhite(sbf.charAt(sbf.length() - 1))) {
-			if (sbf.charAt(sbf.length() - 1) == '\n') {
+		removeTrailingWhites();
+		sbf.setLength(sbf.length() - 1);
+		removeTrailingWhites();
+		return this;
+	}
+
+	private void removeTrailingWhites() {
+		int length = sbf.length();
+		while (isWhite(sbf.charAt(length - 1))) {
+			if (sbf.charAt(length - 1) == '\n') {
 				line--;
 			}
-			sbf.deleteCharAt(sbf.length() - 1);
+			length--;
 		}
-		return this;
+		sbf.setLength(length);
 	}
 
 	/**
@@ -385,6 +481,10 @@ public class PrinterHelper {
 		return lineNumberMapping;
 	}
 
+	/**
+	 * Returns the buffered code, that is the whole printed code unless it is
+	 * streamed to an output.
+	 */
 	@Override
 	public String toString() {
 		return sbf.toString();
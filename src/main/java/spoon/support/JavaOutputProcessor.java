@@ -17,6 +17,7 @@
 package spoon.support;
 
 import spoon.Launcher;
+import spoon.SpoonException;
 import spoon.processing.AbstractProcessor;
 import spoon.processing.FileGenerator;
 import spoon.processing.TraversalStrategy;
@@ -27,19 +28,30 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
 import spoon.reflect.visitor.PrettyPrinter;
 
+import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 //import spoon.reflect.cu.CompilationUnit;
 
 /**
  * A processor that generates compilable Java source files from the meta-model.
+ * Depending on {@link spoon.compiler.Environment#getOutputWritingThreads()},
+ * the top-level types are either printed sequentially with the given printer,
+ * or concurrently by per-thread printers on a fork-join pool.
  */
 public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> implements FileGenerator<CtNamedElement> {
 	PrettyPrinter printer;
@@ -48,6 +60,23 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 
 	List<File> printedFiles = new ArrayList<>();
 
+	/** the printed files, to check them without going through the list */
+	private final Set<File> printedFileSet = new HashSet<>();
+
+	/** the pool printing the types in parallel, started by the first one */
+	private ForkJoinPool pool;
+
+	private final List<ForkJoinTask<?>> printingTasks = new ArrayList<>();
+
+	/** set when a type fails to be printed, so that the types which are not started yet are skipped */
+	private final AtomicBoolean printingFailed = new AtomicBoolean();
+
+	private ThreadLocal<PrettyPrinter> threadPrinters;
+
+	private final AtomicInteger writtenFileCount = new AtomicInteger();
+
+	private final AtomicInteger skippedFileCount = new AtomicInteger();
+
 	/**
 	 * Creates a new processor for generating Java source files.
 	 *
@@ -72,6 +101,21 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 		return printedFiles;
 	}
 
+	/**
+	 * Returns the number of files written to the disk.
+	 */
+	public int getWrittenFileCount() {
+		return writtenFileCount.get();
+	}
+
+	/**
+	 * Returns the number of files which were not written again because their
+	 * content was already on disk (see {@link spoon.compiler.Environment#isSkipUnchangedFiles()}).
+	 */
+	public int getSkippedFileCount() {
+		return skippedFileCount.get();
+	}
+
 	public File getOutputDirectory() {
 		return directory;
 	}
@@ -102,7 +146,7 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 		}
 	}
 
-	Map<String, Map<Integer, Integer>> lineNumberMappings = new HashMap<>();
+	Map<String, Map<Integer, Integer>> lineNumberMappings = new ConcurrentHashMap<>();
 
 	/**
 	 * Creates the Java file associated to the given element. Splits top-level
@@ -110,7 +154,15 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 	 * original sources).
 	 */
 	public void createJavaFile(CtType<?> element) {
+		File file = prepareJavaFile(element);
+		printJavaFile(printer, element, getCompilationUnit(element), file);
+	}
 
+	/**
+	 * Creates the directory of the Java file associated to the given element,
+	 * and records the file.
+	 */
+	private File prepareJavaFile(CtType<?> element) {
 		getEnvironment().debugMessage("printing " + element.getQualifiedName() + " to " + directory);
 
 		// we only create a file for top-level classes
@@ -118,6 +170,12 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 			throw new IllegalArgumentException();
 		}
 
+		File file = new File(getPackageFile(element.getPackage()).getAbsolutePath() + File.separatorChar + element.getSimpleName() + DefaultJavaPrettyPrinter.JAVA_FILE_EXTENSION);
+		addPrintedFile(file);
+		return file;
+	}
+
+	private CompilationUnit getCompilationUnit(CtType<?> element) {
 		CompilationUnit cu = null;
 		if (element.getPosition() != null) {
 			cu = element.getPosition().getCompilationUnit();
@@ -128,36 +186,136 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 				cu.setDeclaredPackage(element.getPackage());
 			}
 		}
+		return cu;
+	}
+
+	private void printJavaFile(PrettyPrinter printer, CtType<?> element, CompilationUnit cu, File file) {
 		List<CtType<?>> toBePrinted = new ArrayList<>();
 		toBePrinted.add(element);
 
-		printer.calculate(cu, toBePrinted);
-
-		CtPackage pack = element.getPackage();
-
-		PrintStream stream = null;
+		boolean printed;
+		if (printer instanceof DefaultJavaPrettyPrinter && !getEnvironment().isSkipUnchangedFiles()) {
+			// the code is streamed to the file instead of being kept in memory
+			printed = streamFile(file, (DefaultJavaPrettyPrinter) printer, cu, toBePrinted);
+		} else {
+			printer.calculate(cu, toBePrinted);
+			printed = writeFile(file, printer.getResult());
+		}
 
 		// print type
-		try {
-			File file = new File(getPackageFile(pack).getAbsolutePath() + File.separatorChar + element.getSimpleName() + DefaultJavaPrettyPrinter.JAVA_FILE_EXTENSION);
-			file.createNewFile();
-			if (!printedFiles.contains(file)) {
-				printedFiles.add(file);
-			}
-			stream = new PrintStream(file);
-			stream.print(printer.getResult());
+		if (printed) {
 			for (CtType<?> t : toBePrinted) {
 				lineNumberMappings.put(t.getQualifiedName(), printer.getLineNumberMapping());
 			}
-			stream.close();
+		}
+	}
+
+	/**
+	 * Prints the types directly to the file.
+	 *
+	 * @return false if the file could not be written
+	 */
+	private boolean streamFile(File file, DefaultJavaPrettyPrinter printer, CompilationUnit cu, List<CtType<?>> toBePrinted) {
+		try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset())) {
+			printer.calculate(cu, toBePrinted, writer);
 		} catch (IOException e) {
 			Launcher.LOGGER.error(e.getMessage(), e);
-		} finally {
-			if (stream != null) {
-				stream.close();
+			return false;
+		} catch (SpoonException e) {
+			if (!(e.getCause() instanceof IOException)) {
+				throw e;
+			}
+			Launcher.LOGGER.error(e.getMessage(), e);
+			return false;
+		}
+		writtenFileCount.incrementAndGet();
+		return true;
+	}
+
+	/**
+	 * Writes the content to the file, unless the file already has this content
+	 * and unchanged files are skipped.
+	 *
+	 * @return false if the file could not be written
+	 */
+	private boolean writeFile(File file, String content) {
+		try {
+			if (getEnvironment().isSkipUnchangedFiles() && hasContent(file, content)) {
+				skippedFileCount.incrementAndGet();
+				return true;
 			}
+			try (BufferedWriter writer = Files.newBufferedWriter(file.toPath(), Charset.defaultCharset())) {
+				writer.write(content);
+			}
+			writtenFileCount.incrementAndGet();
+			return true;
+		} catch (IOException e) {
+			Launcher.LOGGER.error(e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private boolean hasContent(File file, String content) throws IOException {
+		if (!file.isFile()) {
+			return false;
 		}
+		byte[] bytes = content.getBytes(Charset.defaultCharset());
+		// the size is checked first, so that most changed files are not read
+		return file.length() == bytes.length && Arrays.equals(bytes, Files.readAllBytes(file.toPath()));
+	}
+
+	private void addPrintedFile(File file) {
+		if (printedFileSet.add(file)) {
+			printedFiles.add(file);
+		}
+	}
 
+	/**
+	 * Prints the given top-level type on the pool, with the printer of the
+	 * current thread of the pool. The file and the compilation unit are
+	 * resolved before, so that the model is only read by the printers.
+	 */
+	private void submitJavaFile(final CtType<?> element) {
+		final File file = prepareJavaFile(element);
+		final CompilationUnit cu = getCompilationUnit(element);
+		if (pool == null) {
+			threadPrinters = new ThreadLocal<PrettyPrinter>() {
+				@Override
+				protected PrettyPrinter initialValue() {
+					return new DefaultJavaPrettyPrinter(getEnvironment());
+				}
+			};
+			pool = new ForkJoinPool(getEnvironment().getOutputWritingThreads());
+		}
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		printingTasks.add(pool.submit(new Runnable() {
+			@Override
+			public void run() {
+				if (printingFailed.get()) {
+					return;
+				}
+				Thread.currentThread().setContextClassLoader(contextClassLoader);
+				PrettyPrinter threadPrinter = threadPrinters.get();
+				try {
+					printJavaFile(threadPrinter, element, cu, file);
+				} catch (RuntimeException | Error e) {
+					// the types which are not started yet are skipped
+					printingFailed.set(true);
+					throw e;
+				} finally {
+					threadPrinter.reset();
+				}
+			}
+		}));
+	}
+
+	/**
+	 * Tells if the types can be printed in parallel. Only the default printer
+	 * is known to be stateless between two types, so that each thread can
+	 * use its own instance.
+	 */
+	private boolean isParallel() {
+		return getEnvironment().getOutputWritingThreads() > 1 && printer != null && printer.getClass() == DefaultJavaPrettyPrinter.class;
 	}
 
 	@Override
@@ -171,6 +329,10 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 	 */
 	public void process(CtNamedElement nameElement) {
 		if (nameElement instanceof CtType && ((CtType) nameElement).isTopLevel()) {
+			if (isParallel()) {
+				submitJavaFile((CtType<?>) nameElement);
+				return;
+			}
 			createJavaFile((CtType<?>) nameElement);
 		} else if (nameElement instanceof CtPackage) {
 			createPackageFile((CtPackage) nameElement);
@@ -178,26 +340,48 @@ public class JavaOutputProcessor extends AbstractProcessor<CtNamedElement> imple
 		printer.reset();
 	}
 
-	private void createPackageFile(CtPackage pack) {
-		// Create package annotation file
-		File packageAnnot = new File(getPackageFile(pack).getAbsolutePath() + File.separatorChar + DefaultJavaPrettyPrinter.JAVA_PACKAGE_DECLARATION);
-		if (!printedFiles.contains(packageAnnot)) {
-			printedFiles.add(packageAnnot);
+	/**
+	 * Waits for the types printed in parallel. A failure is rethrown once
+	 * all the started types are printed.
+	 */
+	@Override
+	public void processingDone() {
+		if (pool == null) {
+			return;
 		}
-		PrintStream stream = null;
 		try {
-			stream = new PrintStream(packageAnnot);
-			stream.println(printer.printPackageInfo(pack));
-			stream.close();
-		} catch (FileNotFoundException e) {
-			Launcher.LOGGER.error(e.getMessage(), e);
-		} finally {
-			if (stream != null) {
-				stream.close();
+			Throwable failure = null;
+			for (ForkJoinTask<?> task : printingTasks) {
+				try {
+					task.join();
+				} catch (RuntimeException | Error e) {
+					// the other tasks are awaited before rethrowing
+					if (failure == null) {
+						failure = e;
+					}
+				}
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			} else if (failure != null) {
+				throw (RuntimeException) failure;
 			}
+		} finally {
+			printingFailed.set(false);
+			printingTasks.clear();
+			pool.shutdown();
+			pool = null;
+			threadPrinters = null;
 		}
 	}
 
+	private void createPackageFile(CtPackage pack) {
+		// Create package annotation file
+		File packageAnnot = new File(getPackageFile(pack).getAbsolutePath() + File.separatorChar + DefaultJavaPrettyPrinter.JAVA_PACKAGE_DECLARATION);
+		addPrintedFile(packageAnnot);
+		writeFile(packageAnnot, printer.printPackageInfo(pack) + System.lineSeparator());
+	}
+
 	private File getPackageFile(CtPackage pack) {
 		File packageDir;
 		if (pack.isUnnamedPackage()) {
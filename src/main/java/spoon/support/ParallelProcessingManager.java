@@ -0,0 +1,188 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import spoon.processing.ProcessInterruption;
+import spoon.processing.Processor;
+import spoon.processing.TraversalStrategy;
+import spoon.processing.TypeLocalProcessor;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.declaration.CtPackage;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.CtScanner;
+import spoon.support.visitor.ProcessingVisitor;
+
+/**
+ * This processing manager applies the processors in the same order as
+ * {@link QueueProcessingManager}, but applies each
+ * {@link TypeLocalProcessor} to the top-level types on a fork-join pool of
+ * {@link spoon.compiler.Environment#getProcessingThreads()} threads. The
+ * elements which are not in a top-level type (the packages) are processed
+ * in the calling thread, before the types with the
+ * {@link TraversalStrategy#PRE_ORDER} strategy, and after them with the
+ * {@link TraversalStrategy#POST_ORDER} strategy.
+ *
+ * The other processors are applied sequentially, as well as all the
+ * processors when they are fused (see
+ * {@link spoon.compiler.Environment#isFusedProcessing()}).
+ */
+public class ParallelProcessingManager extends QueueProcessingManager {
+
+	/**
+	 * Creates a new processing manager that maintains a queue of processors to
+	 * be applied to a given factory.
+	 *
+	 * @param factory
+	 * 		the factory on which the processing applies (contains the
+	 * 		meta-model)
+	 */
+	public ParallelProcessingManager(Factory factory) {
+		super(factory);
+	}
+
+	@Override
+	protected void process(CtElement element, Processor<?> processor) {
+		if (getFactory().getEnvironment().getProcessingThreads() <= 1 || !(processor instanceof TypeLocalProcessor)) {
+			super.process(element, processor);
+			return;
+		}
+		List<CtType<?>> types = getTopLevelTypes(element);
+		if (types.size() <= 1) {
+			super.process(element, processor);
+			return;
+		}
+		if (processor.getTraversalStrategy() == TraversalStrategy.PRE_ORDER) {
+			processOutsideTypes(element, processor, types);
+			processTypes(types, processor);
+		} else {
+			processTypes(types, processor);
+			processOutsideTypes(element, processor, types);
+		}
+	}
+
+	/**
+	 * Returns the top-level types of the given element, which is either a
+	 * package or a top-level type.
+	 */
+	private List<CtType<?>> getTopLevelTypes(CtElement element) {
+		final List<CtType<?>> types = new ArrayList<>();
+		new CtScanner() {
+			@Override
+			public void scan(CtElement e) {
+				if (e instanceof CtType && ((CtType<?>) e).isTopLevel()) {
+					types.add((CtType<?>) e);
+				} else if (e instanceof CtPackage) {
+					super.scan(e);
+				}
+			}
+		}.scan(element);
+		return types;
+	}
+
+	/**
+	 * Applies the processor to the given element, except to the given types.
+	 */
+	private void processOutsideTypes(CtElement element, Processor<?> processor, List<CtType<?>> types) {
+		final Set<CtElement> skipped = Collections.newSetFromMap(new IdentityHashMap<CtElement, Boolean>());
+		skipped.addAll(types);
+		ProcessingVisitor visitor = new ProcessingVisitor(getFactory()) {
+			@Override
+			public void scan(CtElement e) {
+				if (!skipped.contains(e)) {
+					super.scan(e);
+				}
+			}
+		};
+		visitor.setProcessor(processor);
+		visitor.scan(element);
+	}
+
+	/**
+	 * Applies the processor to the given types concurrently, with one
+	 * processing visitor per thread. If the processor interrupts its
+	 * processing or fails on a type, the types which are not started yet are
+	 * not processed. The failure is rethrown once all the started types are
+	 * done, so that no thread changes the model after this method.
+	 */
+	private void processTypes(List<CtType<?>> types, final Processor<?> processor) {
+		final ThreadLocal<ProcessingVisitor> visitors = new ThreadLocal<ProcessingVisitor>() {
+			@Override
+			protected ProcessingVisitor initialValue() {
+				ProcessingVisitor visitor = new ProcessingVisitor(getFactory());
+				visitor.setProcessor(processor);
+				return visitor;
+			}
+		};
+		final AtomicBoolean interrupted = new AtomicBoolean();
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(Math.min(getFactory().getEnvironment().getProcessingThreads(), types.size()));
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(types.size());
+			for (final CtType<?> type : types) {
+				tasks.add(pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						if (interrupted.get()) {
+							return;
+						}
+						Thread.currentThread().setContextClassLoader(contextClassLoader);
+						try {
+							visitors.get().scan(type);
+						} catch (ProcessInterruption interruption) {
+							interrupted.set(true);
+						} catch (RuntimeException | Error e) {
+							// the types which are not started yet are skipped
+							interrupted.set(true);
+							throw e;
+						}
+					}
+				}));
+			}
+			Throwable failure = null;
+			for (ForkJoinTask<?> task : tasks) {
+				try {
+					task.join();
+				} catch (RuntimeException | Error e) {
+					// the other tasks are awaited before rethrowing
+					if (failure == null) {
+						failure = e;
+					}
+				}
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			} else if (failure != null) {
+				throw (RuntimeException) failure;
+			}
+		} finally {
+			pool.shutdown();
+		}
+		if (interrupted.get()) {
+			throw new ProcessInterruption();
+		}
+	}
+}
@@ -19,21 +19,28 @@ package spoon.support;
 import spoon.SpoonException;
 import spoon.processing.AbstractProcessor;
 import spoon.processing.ProcessInterruption;
+import spoon.processing.ProcessingBarrier;
 import spoon.processing.ProcessingManager;
 import spoon.processing.Processor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.factory.Factory;
+import spoon.support.visitor.FusedProcessingVisitor;
 import spoon.support.visitor.ProcessingVisitor;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
 
 /**
  * This processing manager implements a blocking processing policy that consists
  * of applying the processors in a FIFO order until no processors remain to be
  * applied.The processors will be removed from the manager once applied.
+ * When the processing is fused (see
+ * {@link spoon.compiler.Environment#isFusedProcessing()}), the consecutive
+ * processors of the queue are applied together in a single traversal.
  */
 public class QueueProcessingManager implements ProcessingManager {
 	Processor<?> current;
@@ -103,6 +110,10 @@ public class QueueProcessingManager implements ProcessingManager {
 	}
 
 	public void process(Collection<? extends CtElement> elements) {
+		if (getFactory().getEnvironment().isFusedProcessing()) {
+			processFused(elements, true);
+			return;
+		}
 		Processor<?> p;
 		while ((p = getProcessors().poll()) != null) {
 			try {
@@ -122,6 +133,10 @@ public class QueueProcessingManager implements ProcessingManager {
 	}
 
 	public void process(CtElement element) {
+		if (getFactory().getEnvironment().isFusedProcessing()) {
+			processFused(Collections.singletonList(element), false);
+			return;
+		}
 		Processor<?> p;
 		while ((p = getProcessors().poll()) != null) {
 			try {
@@ -141,6 +156,62 @@ public class QueueProcessingManager implements ProcessingManager {
 		getVisitor().scan(element);
 	}
 
+	/**
+	 * Applies the processors of the queue group by group, each group in a
+	 * single traversal of the elements. All the processors of a group are
+	 * initialized before the traversal, and done after it.
+	 */
+	private void processFused(Collection<? extends CtElement> elements, boolean loadProperties) {
+		List<Processor<?>> group;
+		while (!(group = pollFusedGroup()).isEmpty()) {
+			try {
+				List<Processor<?>> initialized = new ArrayList<>(group.size());
+				for (Processor<?> p : group) {
+					try {
+						current = p;
+						if (loadProperties) {
+							getFactory().getEnvironment().reportProgressMessage(p.getClass().getName());
+							p.initProperties(AbstractProcessor.loadProperties(p));
+						}
+						p.init();
+						p.process();
+						initialized.add(p);
+					} catch (ProcessInterruption ignore) {
+					}
+				}
+				if (!initialized.isEmpty()) {
+					FusedProcessingVisitor visitor = new FusedProcessingVisitor(getFactory(), initialized, group.get(0).getTraversalStrategy());
+					for (CtElement e : new ArrayList<>(elements)) {
+						visitor.scan(e);
+					}
+				}
+			} finally {
+				for (Processor<?> p : group) {
+					p.processingDone();
+				}
+			}
+		}
+	}
+
+	/**
+	 * Removes from the queue the next processors which can be applied in the
+	 * same traversal: they have the same traversal strategy, and only the
+	 * first one may be a {@link ProcessingBarrier}.
+	 */
+	private List<Processor<?>> pollFusedGroup() {
+		List<Processor<?>> group = new ArrayList<>();
+		Processor<?> p = getProcessors().peek();
+		while (p != null && (group.isEmpty() || canBeFused(group.get(0), p))) {
+			group.add(getProcessors().poll());
+			p = getProcessors().peek();
+		}
+		return group;
+	}
+
+	private boolean canBeFused(Processor<?> first, Processor<?> p) {
+		return !(p instanceof ProcessingBarrier) && p.getTraversalStrategy() == first.getTraversalStrategy();
+	}
+
 	public void setFactory(Factory factory) {
 		this.factory = factory;
 		factory.getEnvironment().setManager(this);
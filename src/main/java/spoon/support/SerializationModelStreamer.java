@@ -22,11 +22,15 @@ import spoon.reflect.declaration.CtElement;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.CtScanner;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.OutputStream;
+import java.util.HashMap;
+import java.util.Map;
 
 /**
  * This class provides a regular Java serialization-based implementation of the
@@ -34,6 +38,8 @@ import java.io.OutputStream;
  */
 public class SerializationModelStreamer implements ModelStreamer {
 
+	private static final int BUFFER_SIZE = 1 << 16;
+
 	/**
 	 * Default constructor.
 	 */
@@ -41,22 +47,23 @@ public class SerializationModelStreamer implements ModelStreamer {
 	}
 
 	public void save(Factory f, OutputStream out) throws IOException {
-		ObjectOutputStream oos = new ObjectOutputStream(out);
+		ObjectOutputStream oos = new StringSharingObjectOutputStream(new BufferedOutputStream(out, BUFFER_SIZE));
 		oos.writeObject(f);
 		oos.close();
 	}
 
 	public Factory load(InputStream in) throws IOException {
 		try {
-			ObjectInputStream ois = new ObjectInputStream(in);
+			ObjectInputStream ois = new ObjectInputStream(new BufferedInputStream(in, BUFFER_SIZE));
 			final Factory f = (Factory) ois.readObject();
+			// the root package contains all the packages, each element is visited once
 			new CtScanner() {
 				@Override
 				public void enter(CtElement e) {
 					e.setFactory(f);
 					super.enter(e);
 				}
-			}.scan(f.Package().getAll());
+			}.scan(f.getModel().getRootPackage());
 			ois.close();
 			return f;
 		} catch (ClassNotFoundException e) {
@@ -65,4 +72,32 @@ public class SerializationModelStreamer implements ModelStreamer {
 		}
 	}
 
+	/**
+	 * Writes equal strings only once. The names of the model are duplicated
+	 * in many elements and references, which Java serialization would write
+	 * again for each distinct instance, and read back as distinct instances.
+	 */
+	private static class StringSharingObjectOutputStream extends ObjectOutputStream {
+
+		private final Map<String, String> strings = new HashMap<>();
+
+		StringSharingObjectOutputStream(OutputStream out) throws IOException {
+			super(out);
+			enableReplaceObject(true);
+		}
+
+		@Override
+		protected Object replaceObject(Object obj) throws IOException {
+			if (obj instanceof String) {
+				String shared = strings.get(obj);
+				if (shared == null) {
+					strings.put((String) obj, (String) obj);
+					return obj;
+				}
+				return shared;
+			}
+			return obj;
+		}
+	}
+
 }
@@ -25,6 +25,7 @@ import java.io.Serializable;
 import java.net.MalformedURLException;
 import java.net.URL;
 import java.net.URLClassLoader;
+import java.nio.charset.Charset;
 import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
@@ -100,6 +101,18 @@ public class StandardEnvironment implements Serializable, Environment {
 
 	private boolean skipSelfChecks;
 
+	private int modelBuildingThreads = 1;
+
+	private int outputWritingThreads = 1;
+
+	private int processingThreads = 1;
+
+	private boolean skipUnchangedFiles = false;
+
+	private Charset encoding = Charset.defaultCharset();
+
+	private boolean fusedProcessing = false;
+
 	/**
 	 * Creates a new environment with a <code>null</code> default file
 	 * generator.
@@ -163,6 +176,45 @@ public class StandardEnvironment implements Serializable, Environment {
 		skipSelfChecks = skip;
 	}
 
+	@Override
+	public int getModelBuildingThreads() {
+		return modelBuildingThreads;
+	}
+
+	@Override
+	public void setModelBuildingThreads(int threads) {
+		if (threads < 1) {
+			throw new SpoonException("The number of model building threads must be at least 1, got " + threads);
+		}
+		this.modelBuildingThreads = threads;
+	}
+
+	@Override
+	public int getOutputWritingThreads() {
+		return outputWritingThreads;
+	}
+
+	@Override
+	public void setOutputWritingThreads(int threads) {
+		if (threads < 1) {
+			throw new SpoonException("The number of output writing threads must be at least 1, got " + threads);
+		}
+		this.outputWritingThreads = threads;
+	}
+
+	@Override
+	public int getProcessingThreads() {
+		return processingThreads;
+	}
+
+	@Override
+	public void setProcessingThreads(int threads) {
+		if (threads < 1) {
+			throw new SpoonException("The number of processing threads must be at least 1, got " + threads);
+		}
+		this.processingThreads = threads;
+	}
+
 	private Level toLevel(String level) {
 		if (level == null || level.isEmpty()) {
 			throw new SpoonException("Wrong level given at Spoon.");
@@ -497,6 +549,36 @@ public class StandardEnvironment implements Serializable, Environment {
 		this.copyResources = copyResources;
 	}
 
+	@Override
+	public boolean isFusedProcessing() {
+		return fusedProcessing;
+	}
+
+	@Override
+	public void setFusedProcessing(boolean fusedProcessing) {
+		this.fusedProcessing = fusedProcessing;
+	}
+
+	@Override
+	public Charset getEncoding() {
+		return encoding;
+	}
+
+	@Override
+	public void setEncoding(Charset encoding) {
+		this.encoding = encoding;
+	}
+
+	@Override
+	public boolean isSkipUnchangedFiles() {
+		return skipUnchangedFiles;
+	}
+
+	@Override
+	public void setSkipUnchangedFiles(boolean skipUnchangedFiles) {
+		this.skipUnchangedFiles = skipUnchangedFiles;
+	}
+
 	@Override
 	public boolean isCommentsEnabled() {
 		return enableComments;
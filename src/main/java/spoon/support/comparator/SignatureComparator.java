@@ -31,11 +31,16 @@ public class SignatureComparator implements Comparator<CtExecutable<?>>, Seriali
 
 	@Override
 	public int compare(CtExecutable<?> o1, CtExecutable<?> o2) {
-		SignaturePrinter signaturePrinter1 = new SignaturePrinter();
-		SignaturePrinter signaturePrinter2 = new SignaturePrinter();
-		signaturePrinter1.scan(o1);
-		signaturePrinter2.scan(o2);
-		return signaturePrinter1.getSignature().compareTo(signaturePrinter2.getSignature());
+		return getSignature(o1).compareTo(getSignature(o2));
+	}
+
+	/**
+	 * Computes the signature of the given executable.
+	 */
+	protected String getSignature(CtExecutable<?> executable) {
+		SignaturePrinter signaturePrinter = new SignaturePrinter();
+		signaturePrinter.scan(executable);
+		return signaturePrinter.getSignature();
 	}
 
 }
@@ -214,7 +214,16 @@ public class ContextBuilder {
 
 				while (!referenceBindings.isEmpty()) {
 					final ReferenceBinding referenceBinding = referenceBindings.pop();
-					for (final FieldBinding fieldBinding : referenceBinding.fields()) {
+					final FieldBinding[] fieldBindings;
+					final ReferenceBinding superclass;
+					final ReferenceBinding[] interfaces;
+					// the fields and super types are lazily resolved in the lookup environment
+					synchronized (jdtTreeBuilder.getModelLock()) {
+						fieldBindings = referenceBinding.fields();
+						superclass = referenceBinding.superclass();
+						interfaces = referenceBinding.superInterfaces();
+					}
+					for (final FieldBinding fieldBinding : fieldBindings) {
 						if (name.equals(new String(fieldBinding.readableName()))) {
 							final String qualifiedNameOfParent =
 									new String(referenceBinding.readableName());
@@ -228,12 +237,10 @@ public class ContextBuilder {
 						}
 					}
 					// add super class if any
-					final ReferenceBinding superclass = referenceBinding.superclass();
 					if (superclass != null) {
 						referenceBindings.push(superclass);
 					}
 					// add interfaces if any
-					final ReferenceBinding[] interfaces = referenceBinding.superInterfaces();
 					if (interfaces != null) {
 						for (ReferenceBinding rb : interfaces) {
 							referenceBindings.push(rb);
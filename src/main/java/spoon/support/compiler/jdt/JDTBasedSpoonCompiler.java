@@ -51,6 +51,8 @@ import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.AstParentConsistencyChecker;
 import spoon.reflect.visitor.PrettyPrinter;
 import spoon.reflect.visitor.Query;
+import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.ParallelProcessingManager;
 import spoon.support.QueueProcessingManager;
 import spoon.support.compiler.VirtualFolder;
 
@@ -60,13 +62,20 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
+import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
  * Main class of Spoon to build the model.
@@ -86,6 +95,7 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 	protected File outputDirectory = new File(Launcher.OUTPUTDIR);
 	protected List<SpoonResource> forceBuildList = new ArrayList<>();
 	protected String encoding;
+	private TypeDependencies typeDependencies;
 
 	/**
 	 * Default constructor
@@ -132,6 +142,205 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 		}
 	}
 
+	/**
+	 * Updates the model built by {@link #build()} after changes of its source
+	 * files, instead of building the whole model again.
+	 *
+	 * The types of the changed and removed files are removed from the model.
+	 * Then the changed files are built again, together with the unchanged
+	 * files which refer to a type of a changed or removed file or declare one
+	 * of its direct or indirect sub types, so that their references and
+	 * inherited members are resolved against the new types. The other
+	 * unchanged files are only read by JDT when it needs the types they declare.
+	 *
+	 * @param changedFiles
+	 * 		the added or modified source files
+	 * @param removedFiles
+	 * 		the deleted source files
+	 * @return true if no problem remains: the problems of the rebuilt and
+	 * 		removed files are replaced by the ones of the new build
+	 */
+	public boolean buildChanges(Collection<SpoonFile> changedFiles, Collection<SpoonFile> removedFiles) {
+		if (!build) {
+			throw new SpoonException("Model not built yet");
+		}
+		Map<String, spoon.reflect.cu.CompilationUnit> compilationUnits = factory.CompilationUnit().getMap();
+		if (typeDependencies == null) {
+			typeDependencies = new TypeDependencies();
+			for (Map.Entry<String, spoon.reflect.cu.CompilationUnit> entry : compilationUnits.entrySet()) {
+				typeDependencies.add(entry.getKey(), entry.getValue());
+			}
+		}
+
+		Set<String> removedPaths = new HashSet<>();
+		for (SpoonFile file : removedFiles) {
+			removedPaths.add(getUnitName(file));
+		}
+		Set<String> changedPaths = new HashSet<>();
+		for (SpoonFile file : changedFiles) {
+			changedPaths.add(getUnitName(file));
+		}
+		Set<String> pathsToBuild = new HashSet<>(changedPaths);
+		Set<String> outdatedPaths = new HashSet<>(changedPaths);
+		outdatedPaths.addAll(removedPaths);
+		for (String path : outdatedPaths) {
+			spoon.reflect.cu.CompilationUnit cu = compilationUnits.get(path);
+			if (cu == null) {
+				continue;
+			}
+			for (CtType<?> declaredType : cu.getDeclaredTypes()) {
+				for (CtType<?> type : declaredType.getElements(new TypeFilter<CtType<?>>(CtType.class))) {
+					pathsToBuild.addAll(typeDependencies.getDependentPaths(type.getQualifiedName()));
+					// the indirect sub types inherit the changed members too
+					pathsToBuild.addAll(typeDependencies.getSubTypePaths(type.getQualifiedName()));
+				}
+			}
+		}
+		pathsToBuild.removeAll(removedPaths);
+
+		VirtualFolder newSources = new VirtualFolder();
+		for (SpoonFile file : sources.getAllFiles()) {
+			// virtual files are not equal to their new versions, they are compared by name
+			String path = getUnitName(file);
+			if (!changedPaths.contains(path) && !removedPaths.contains(path)) {
+				newSources.addFile(file);
+			}
+		}
+		for (SpoonFile file : changedFiles) {
+			newSources.addFile(file);
+		}
+		sources = newSources;
+
+		// the outdated types are removed before building the new ones
+		for (String path : pathsToBuild) {
+			removeCompilationUnit(path);
+		}
+		for (String path : removedPaths) {
+			removeCompilationUnit(path);
+		}
+		removeProblems(pathsToBuild);
+		removeProblems(removedPaths);
+		int reportedProblems = probs.size();
+
+		List<SpoonFile> filesToBuild = new ArrayList<>();
+		Map<String, SpoonFile> unchangedFilesByType = new HashMap<>();
+		Set<String> unchangedPackages = new HashSet<>();
+		for (SpoonFile file : sources.getAllJavaFiles()) {
+			String path = getUnitName(file);
+			if (pathsToBuild.contains(path)) {
+				filesToBuild.add(file);
+			} else if (compilationUnits.containsKey(path)) {
+				for (CtType<?> type : compilationUnits.get(path).getDeclaredTypes()) {
+					unchangedFilesByType.put(type.getQualifiedName(), file);
+					unchangedPackages.add(type.getPackage().getQualifiedName());
+				}
+			}
+		}
+		if (!filesToBuild.isEmpty()) {
+			buildFiles(filesToBuild, unchangedFilesByType, unchangedPackages);
+		}
+
+		for (String path : removedPaths) {
+			typeDependencies.remove(path);
+		}
+		for (String path : pathsToBuild) {
+			spoon.reflect.cu.CompilationUnit cu = compilationUnits.get(path);
+			if (cu == null) {
+				typeDependencies.remove(path);
+			} else {
+				typeDependencies.add(path, cu);
+			}
+		}
+		// JDT also compiles the unchanged files it reads, whose problems are already known
+		List<CategorizedProblem> newProblems = probs.subList(reportedProblems, probs.size());
+		for (Iterator<CategorizedProblem> iterator = newProblems.iterator(); iterator.hasNext();) {
+			char[] fileName = iterator.next().getOriginatingFileName();
+			if (fileName == null || !pathsToBuild.contains(new String(fileName))) {
+				iterator.remove();
+			}
+		}
+		for (CategorizedProblem problem : newProblems) {
+			report(factory.getEnvironment(), problem);
+		}
+		checkModel();
+		return probs.size() == 0;
+	}
+
+	/**
+	 * Forgets the problems of the given compilation units.
+	 */
+	private void removeProblems(Set<String> paths) {
+		for (Iterator<CategorizedProblem> iterator = probs.iterator(); iterator.hasNext();) {
+			char[] fileName = iterator.next().getOriginatingFileName();
+			if (fileName != null && paths.contains(new String(fileName))) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private void buildFiles(List<SpoonFile> filesToBuild, Map<String, SpoonFile> unchangedFilesByType, Set<String> unchangedPackages) {
+		JDTBatchCompiler batchCompiler = createBatchCompiler(InputType.FILES);
+		String[] args = new JDTBuilderImpl() //
+				.classpathOptions(new ClasspathOptions().encoding(this.encoding).classpathFromListOrClassLoader(getSourceClasspath())) //
+				.complianceOptions(new ComplianceOptions().compliance(javaCompliance)) //
+				.advancedOptions(new AdvancedOptions().preserveUnusedVars().continueExecution().enableJavadoc()) //
+				.sources(new SourceOptions().sources(filesToBuild)) //
+				.build();
+		getFactory().getEnvironment().debugMessage("build args: " + Arrays.toString(args));
+		batchCompiler.configure(args);
+
+		List<SpoonFile> allFiles = new ArrayList<>(sources.getAllJavaFiles());
+		allFiles.addAll(templates.getAllJavaFiles());
+		for (SpoonFile file : allFiles) {
+			if (!filesToBuild.contains(file)) {
+				batchCompiler.ignoreFile(file.getPath());
+			}
+		}
+
+		INameEnvironment initialEnvironment = environment;
+		environment = new SourceTypeNameEnvironment(initialEnvironment != null ? initialEnvironment : batchCompiler.getLibraryAccess(), unchangedFilesByType, unchangedPackages);
+		CompilationUnitDeclaration[] units;
+		try {
+			units = batchCompiler.getUnits();
+		} finally {
+			environment = initialEnvironment;
+		}
+
+		// JDT also returns the units of the unchanged files it read, which are already in the model
+		Set<String> pathsToBuild = new HashSet<>();
+		for (SpoonFile file : filesToBuild) {
+			pathsToBuild.add(getUnitName(file));
+		}
+		List<CompilationUnitDeclaration> unitsToBuild = new ArrayList<>();
+		for (CompilationUnitDeclaration unit : units) {
+			if (unit != null && pathsToBuild.contains(new String(unit.getFileName()))) {
+				unitsToBuild.add(unit);
+			}
+		}
+		buildModel(unitsToBuild.toArray(new CompilationUnitDeclaration[unitsToBuild.size()]));
+	}
+
+	private void removeCompilationUnit(String path) {
+		spoon.reflect.cu.CompilationUnit cu = factory.CompilationUnit().getMap().remove(path);
+		if (cu == null) {
+			return;
+		}
+		for (CtType<?> type : new ArrayList<>(cu.getDeclaredTypes())) {
+			CtPackage pack = type.getPackage();
+			if (pack != null) {
+				pack.removeType(type);
+			}
+		}
+	}
+
+	/**
+	 * Gets the name given to JDT for the given file (see {@link FileCompiler}),
+	 * which is also the key of its compilation unit in the factory.
+	 */
+	private String getUnitName(SpoonFile file) {
+		return file.isActualFile() ? file.getPath() : file.getName();
+	}
+
 	@Override
 	public boolean compile(InputType... types) {
 		initInputClassLoader();
@@ -164,7 +373,7 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 		initInputClassLoader();
 
 		// processing (consume all the processors)
-		ProcessingManager processing = new QueueProcessingManager(factory);
+		ProcessingManager processing = createProcessingManager();
 		for (String processorName : processors) {
 			processing.addProcessor(processorName);
 			factory.getEnvironment().debugMessage("Loaded processor " + processorName + ".");
@@ -178,7 +387,7 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 		initInputClassLoader();
 
 		// processing (consume all the processors)
-		ProcessingManager processing = new QueueProcessingManager(factory);
+		ProcessingManager processing = createProcessingManager();
 		for (Processor<? extends CtElement> processorName : processors) {
 			processing.addProcessor(processorName);
 			factory.getEnvironment().debugMessage("Loaded processor " + processorName + ".");
@@ -187,6 +396,18 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 		processing.process(factory.Package().getRootPackage());
 	}
 
+	/**
+	 * Creates the manager which applies the processors: a
+	 * {@link ParallelProcessingManager} when more than one thread is given by
+	 * {@link Environment#getProcessingThreads()}.
+	 */
+	protected ProcessingManager createProcessingManager() {
+		if (getEnvironment().getProcessingThreads() > 1) {
+			return new ParallelProcessingManager(factory);
+		}
+		return new QueueProcessingManager(factory);
+	}
+
 	@Override
 	public void generateProcessedSourceFiles(OutputType outputType) {
 		generateProcessedSourceFiles(outputType, null);
@@ -340,6 +561,10 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 	@Override
 	public void setEncoding(String encoding) {
 		this.encoding = encoding;
+		if (encoding != null) {
+			// the original source code of the compilation units is read with the same encoding
+			getEnvironment().setEncoding(Charset.forName(encoding));
+		}
 	}
 
 	@Override
@@ -377,18 +602,79 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 				keepOutdatedFiles(filesToBuild, new ArrayList<File>());
 			}
 		}
-		CompilationUnitDeclaration[] units = batchCompiler.getUnits(filesToBuild);
+		CompilationUnitDeclaration[] units = batchCompiler.getUnits();
 		// here we build the model
-		JDTTreeBuilder builder = new JDTTreeBuilder(factory);
-		for (int i = 0; i < units.length; i++) {
-			CompilationUnitDeclaration unit = units[i];
-			unit.traverse(builder, unit.scope);
-			if (getFactory().getEnvironment().isCommentsEnabled()) {
-				new JDTCommentBuilder(unit, factory).build();
+		buildModel(units);
+
+		return probs.size() == 0;
+	}
+
+	/**
+	 * Transforms the given JDT compilation units into Spoon elements of the factory.
+	 * Depending on {@link Environment#getModelBuildingThreads()}, the units are
+	 * either built sequentially or on a fork-join pool, with one tree builder per unit.
+	 * In the latter case, a failure is rethrown once all the started units are built.
+	 */
+	protected void buildModel(CompilationUnitDeclaration[] units) {
+		int threads = Math.min(getEnvironment().getModelBuildingThreads(), units.length);
+		if (threads <= 1) {
+			JDTTreeBuilder builder = new JDTTreeBuilder(factory);
+			for (CompilationUnitDeclaration unit : units) {
+				buildUnit(builder, unit);
 			}
+			return;
 		}
 
-		return probs.size() == 0;
+		final AtomicBoolean failed = new AtomicBoolean();
+		final ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+		ForkJoinPool pool = new ForkJoinPool(threads);
+		try {
+			List<ForkJoinTask<?>> tasks = new ArrayList<>(units.length);
+			for (final CompilationUnitDeclaration unit : units) {
+				tasks.add(pool.submit(new Runnable() {
+					@Override
+					public void run() {
+						if (failed.get()) {
+							return;
+						}
+						Thread.currentThread().setContextClassLoader(contextClassLoader);
+						try {
+							// the shared package tree is only modified under the model lock (see JDTTreeBuilder)
+							buildUnit(new JDTTreeBuilder(factory), unit);
+						} catch (RuntimeException | Error e) {
+							// the units which are not started yet are skipped
+							failed.set(true);
+							throw e;
+						}
+					}
+				}));
+			}
+			Throwable failure = null;
+			for (ForkJoinTask<?> task : tasks) {
+				try {
+					task.join();
+				} catch (RuntimeException | Error e) {
+					// the other tasks are awaited before rethrowing
+					if (failure == null) {
+						failure = e;
+					}
+				}
+			}
+			if (failure instanceof Error) {
+				throw (Error) failure;
+			} else if (failure != null) {
+				throw (RuntimeException) failure;
+			}
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private void buildUnit(JDTTreeBuilder builder, CompilationUnitDeclaration unit) {
+		unit.traverse(builder, unit.scope);
+		if (getFactory().getEnvironment().isCommentsEnabled()) {
+			new JDTCommentBuilder(unit, builder).build();
+		}
 	}
 
 	protected JDTBatchCompiler createBatchCompiler(InputType... types) {
@@ -433,21 +719,14 @@ public class JDTBasedSpoonCompiler implements SpoonCompiler {
 
 		getFactory().getEnvironment().debugMessage("template build args: " + Arrays.toString(args));
 		batchCompiler.configure(args);
-		CompilationUnitDeclaration[] units = batchCompiler.getUnits(templates.getAllJavaFiles());
+		CompilationUnitDeclaration[] units = batchCompiler.getUnits();
 
 		if (f != null && f.exists()) {
 			f.delete();
 		}
 
 		// here we build the model in the template factory
-		JDTTreeBuilder builder = new JDTTreeBuilder(factory);
-		for (int i = 0; i < units.length; i++) {
-			CompilationUnitDeclaration unit = units[i];
-			unit.traverse(builder, unit.scope);
-			if (getFactory().getEnvironment().isCommentsEnabled()) {
-				new JDTCommentBuilder(unit, factory).build();
-			}
-		}
+		buildModel(units);
 
 		return probs.size() == 0;
 	}
@@ -16,28 +16,19 @@
  */
 package spoon.support.compiler.jdt;
 
-import org.apache.commons.io.IOUtils;
 import org.apache.commons.io.output.NullOutputStream;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.internal.compiler.CompilationResult;
-import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
 import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
-import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
-import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
-import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
-import org.eclipse.jdt.internal.core.util.CommentRecorderParser;
 import spoon.SpoonException;
-import spoon.compiler.SpoonFile;
 
 import java.io.OutputStream;
 import java.io.PrintWriter;
 import java.util.HashSet;
-import java.util.List;
-import java.util.Locale;
 import java.util.Set;
 
 /*
@@ -97,7 +88,7 @@ abstract class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.
 	/** Calls JDT to retrieve the list of compilation unit declarations.
 	 * Depends on the actual implementation of {@link #getCompilationUnits()}
 	 */
-	public CompilationUnitDeclaration[] getUnits(List<SpoonFile> files) {
+	public CompilationUnitDeclaration[] getUnits() {
 		startTime = System.currentTimeMillis();
 		INameEnvironment environment = this.jdtCompiler.environment;
 		if (environment == null) {
@@ -114,44 +105,8 @@ abstract class JDTBatchCompiler extends org.eclipse.jdt.internal.compiler.batch.
 		}
 
 		// they have to be done all at once
-		final CompilationUnitDeclaration[] result = treeBuilderCompiler.buildUnits(getCompilationUnits());
-
-		// now adding the doc
-		for (int i = 0; i < result.length; i++) {
-			CompilationUnitDeclaration unit = result[i];
-			CommentRecorderParser parser =
-					new CommentRecorderParser(
-							new ProblemReporter(
-									DefaultErrorHandlingPolicies.proceedWithAllProblems(),
-									compilerOptions,
-									new DefaultProblemFactory(Locale.getDefault())),
-							false);
-
-			// finding the corresponding content
-			// works for both real files and virtual files
-			char[] content = null;
-			String unitFileName = new String(unit.getFileName());
-			for (SpoonFile f : files) {
-				if (f.getName().equals(unitFileName)) {
-					try {
-						content = IOUtils.toCharArray(f.getContent());
-					} catch (Exception e) {
-						throw new SpoonException(e);
-					}
-				}
-			}
-			ICompilationUnit sourceUnit =
-					new CompilationUnit(
-							content,
-							unitFileName,
-							"", //$NON-NLS-1$
-							compilerOptions.defaultEncoding);
-
-			final CompilationResult compilationResult = new CompilationResult(sourceUnit, 0, 0, compilerOptions.maxProblemsPerUnit);
-			CompilationUnitDeclaration tmpDeclForComment = parser.dietParse(sourceUnit, compilationResult);
-			unit.comments = tmpDeclForComment.comments;
-		}
-		return result;
+		// the comments are recorded by the parser of the tree builder compiler
+		return treeBuilderCompiler.buildUnits(getCompilationUnits());
 	}
 
 }
@@ -49,8 +49,12 @@ import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
 
 import java.lang.reflect.Method;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * The comment builder that will insert all element of a CompilationUnitDeclaration into the Spoon AST
@@ -64,24 +68,31 @@ class JDTCommentBuilder {
 	private String filePath;
 	private CompilationUnit spoonUnit;
 	private Factory factory;
+	private JDTTreeBuilder jdtTreeBuilder;
 	private ICompilationUnit sourceUnit;
 	private char[] contents;
+	/** the elements of the compilation unit by position, built for the first comment */
+	private PositionNode positionIndex;
 
 	/**
 	 * Creates a JDTCommentBuilder that will insert all comment of the declarationUnit into the Spoon AST
 	 * @param declarationUnit the declaration unit
-	 * @param factory the Spoon AST
+	 * @param jdtTreeBuilder the builder of the Spoon AST of the declaration unit
 	 */
-	JDTCommentBuilder(CompilationUnitDeclaration declarationUnit,  Factory factory) {
+	JDTCommentBuilder(CompilationUnitDeclaration declarationUnit, JDTTreeBuilder jdtTreeBuilder) {
 		this.declarationUnit = declarationUnit;
 		if (declarationUnit.comments == null) {
 			return;
 		}
-		this.factory = factory;
+		this.jdtTreeBuilder = jdtTreeBuilder;
+		this.factory = jdtTreeBuilder.getFactory();
 		this.sourceUnit = declarationUnit.compilationResult.compilationUnit;
 		this.contents = sourceUnit.getContents();
 		this.filePath = CharOperation.charToString(sourceUnit.getFileName());
-		this.spoonUnit = factory.CompilationUnit().create(filePath);
+		// the compilation unit map is shared by all the compilation units built concurrently
+		synchronized (jdtTreeBuilder.getModelLock()) {
+			this.spoonUnit = factory.CompilationUnit().create(filePath);
+		}
 	}
 
 	/**
@@ -175,7 +186,10 @@ class JDTCommentBuilder {
 		CtElement commentParent = findCommentParent(comment);
 		if (commentParent == null) {
 			if (spoonUnit.getFile().getName().equals(DefaultJavaPrettyPrinter.JAVA_PACKAGE_DECLARATION)) {
-				spoonUnit.getDeclaredPackage().addComment(comment);
+				// the package is shared by the package-info files built concurrently
+				synchronized (jdtTreeBuilder.getModelLock()) {
+					spoonUnit.getDeclaredPackage().addComment(comment);
+				}
 			} else {
 				comment.setCommentType(CtComment.CommentType.FILE);
 				addCommentToNear(comment, new ArrayList<CtElement>(spoonUnit.getDeclaredTypes()));
@@ -386,52 +400,161 @@ class JDTCommentBuilder {
 	 * @return the parent of the comment
 	 */
 	private CtElement findCommentParent(CtComment comment) {
-		class FindCommentParentScanner extends CtScanner {
-			public CtElement commentParent;
+		if (positionIndex == null) {
+			positionIndex = new PositionIndexBuilder().build(spoonUnit.getDeclaredTypes());
+		}
+		int start = comment.getPosition().getSourceStart();
+		int end = comment.getPosition().getSourceEnd();
+		// the parent is the deepest element reached by following the last child which contains the comment
+		CtElement commentParent = null;
+		PositionNode node = positionIndex.getLastChildContaining(start, end);
+		while (node != null) {
+			commentParent = node.element;
+			node = node.getLastChildContaining(start, end);
+		}
+		return commentParent;
+	}
 
-			private int start;
-			private int end;
+	/**
+	 * Builds the tree of the elements which can contain a comment: the
+	 * elements which are not implicit and have a position, with their body.
+	 */
+	private static class PositionIndexBuilder extends CtScanner {
+		private final Map<Class<?>, Method> getBodyMethods = new HashMap<>();
+		private List<PositionNode> children;
+
+		PositionNode build(Collection<? extends CtElement> roots) {
+			PositionNode root = new PositionNode(null, null, null, 0);
+			children = new ArrayList<>();
+			scan(roots);
+			root.setChildren(children);
+			return root;
+		}
 
-			FindCommentParentScanner(int start, int end) {
-				this.start = start;
-				this.end = end;
+		@Override
+		public void scan(CtElement element) {
+			if (element == null) {
+				return;
 			}
+			if (element.isImplicit() || element.getPosition() == null) {
+				// such elements never contain a comment, neither do their children for the comment builder
+				return;
+			}
+			PositionNode node = new PositionNode(element, element.getPosition(), getBodyPosition(element), children.size());
+			children.add(node);
+			List<PositionNode> siblings = children;
+			children = new ArrayList<>();
+			element.accept(this);
+			node.setChildren(children);
+			children = siblings;
+		}
 
-			@Override
-			public void scan(CtElement element) {
-				if (element == null) {
-					return;
+		private SourcePosition getBodyPosition(CtElement element) {
+			Method getBody;
+			if (getBodyMethods.containsKey(element.getClass())) {
+				getBody = getBodyMethods.get(element.getClass());
+			} else {
+				try {
+					getBody = element.getClass().getMethod("getBody");
+				} catch (NoSuchMethodException e) {
+					getBody = null;
 				}
-				if (element.isImplicit()) {
-					return;
+				getBodyMethods.put(element.getClass(), getBody);
+			}
+			if (getBody == null) {
+				return null;
+			}
+			try {
+				CtElement body = (CtElement) getBody.invoke(element);
+				return body == null ? null : body.getPosition();
+			} catch (Exception e) {
+				return null;
+			}
+		}
+	}
+
+	/**
+	 * An element of the position index, with its children sorted by source start.
+	 */
+	private static class PositionNode {
+		private static final PositionNode[] NO_CHILDREN = new PositionNode[0];
+
+		final CtElement element;
+		final SourcePosition position;
+		final SourcePosition bodyPosition;
+		/** the rank of the element among its siblings, in the scanning order */
+		final int order;
+		final int start;
+		final int end;
+		PositionNode[] children = NO_CHILDREN;
+		/** maxEnds[i] is the greatest end of children[0..i] */
+		int[] maxEnds;
+
+		PositionNode(CtElement element, SourcePosition position, SourcePosition bodyPosition, int order) {
+			this.element = element;
+			this.position = position;
+			this.bodyPosition = bodyPosition;
+			this.order = order;
+			if (position == null) {
+				start = Integer.MIN_VALUE;
+				end = Integer.MAX_VALUE;
+			} else if (bodyPosition == null) {
+				start = position.getSourceStart();
+				end = position.getSourceEnd();
+			} else {
+				start = Math.min(position.getSourceStart(), bodyPosition.getSourceStart());
+				end = Math.max(position.getSourceEnd(), bodyPosition.getSourceEnd());
+			}
+		}
+
+		void setChildren(List<PositionNode> nodes) {
+			if (nodes.isEmpty()) {
+				return;
+			}
+			children = nodes.toArray(new PositionNode[nodes.size()]);
+			Arrays.sort(children, new Comparator<PositionNode>() {
+				@Override
+				public int compare(PositionNode o1, PositionNode o2) {
+					return Integer.compare(o1.start, o2.start);
 				}
-				CtElement body;
-				try {
-					Method getBody = element.getClass().getMethod("getBody");
-					body = (CtElement) getBody.invoke(element);
-					if (body != null) {
-						if (body.getPosition() == null) {
-							body = null;
-						}
-					}
-				} catch (Exception e) {
-					body = null;
+			});
+			maxEnds = new int[children.length];
+			int maxEnd = Integer.MIN_VALUE;
+			for (int i = 0; i < children.length; i++) {
+				maxEnd = Math.max(maxEnd, children[i].end);
+				maxEnds[i] = maxEnd;
+			}
+		}
+
+		boolean contains(int start, int end) {
+			return (position.getSourceStart() <= start && position.getSourceEnd() >= end)
+					|| (bodyPosition != null && bodyPosition.getSourceStart() <= start && bodyPosition.getSourceEnd() >= end);
+		}
+
+		/**
+		 * Returns the last child, in the scanning order, which contains the given range.
+		 */
+		PositionNode getLastChildContaining(int start, int end) {
+			// the children which start after the range cannot contain it
+			int low = 0;
+			int high = children.length;
+			while (low < high) {
+				int middle = (low + high) >>> 1;
+				if (children[middle].start <= start) {
+					low = middle + 1;
+				} else {
+					high = middle;
 				}
-				if (element.getPosition() != null
-						&& ((element.getPosition().getSourceStart() <= start
-						&& element.getPosition().getSourceEnd() >= end)
-						|| (body != null && (body.getPosition().getSourceStart() <= start
-						&& body.getPosition().getSourceEnd() >= end)))) {
-					commentParent = element;
-					element.accept(this);
+			}
+			PositionNode last = null;
+			for (int i = low - 1; i >= 0 && maxEnds[i] >= end; i--) {
+				PositionNode child = children[i];
+				if (child.contains(start, end) && (last == null || child.order > last.order)) {
+					last = child;
 				}
 			}
+			return last;
 		}
-		FindCommentParentScanner findCommentParentScanner = new FindCommentParentScanner(
-				comment.getPosition().getSourceStart(),
-				comment.getPosition().getSourceEnd());
-		findCommentParentScanner.scan(spoonUnit.getDeclaredTypes());
-		return findCommentParentScanner.commentParent;
 	}
 
 	/**
@@ -205,6 +205,17 @@ public class JDTTreeBuilder extends ASTVisitor {
 		return factory;
 	}
 
+	/**
+	 * Returns the monitor guarding the parts of the model shared by all compilation units
+	 * (package tree and compilation unit map), since several builders may work
+	 * concurrently on the same factory (see {@link spoon.compiler.Environment#getModelBuildingThreads()}).
+	 * It also guards the calls which create or lazily resolve bindings in the
+	 * lookup environment of JDT, which is shared by all the units and is not thread-safe.
+	 */
+	Object getModelLock() {
+		return factory.getModel();
+	}
+
 	public JDTTreeBuilder(Factory factory) {
 		super();
 		this.factory = factory;
@@ -732,8 +743,10 @@ public class JDTTreeBuilder extends ASTVisitor {
 	@Override
 	public boolean visit(CompilationUnitDeclaration compilationUnitDeclaration, CompilationUnitScope scope) {
 		context.compilationunitdeclaration = scope.referenceContext;
-		context.compilationUnitSpoon = getFactory().CompilationUnit().create(new String(context.compilationunitdeclaration.getFileName()));
-		context.compilationUnitSpoon.setDeclaredPackage(getFactory().Package().getOrCreate(CharOperation.toString(scope.currentPackageName)));
+		synchronized (getModelLock()) {
+			context.compilationUnitSpoon = getFactory().CompilationUnit().create(new String(context.compilationunitdeclaration.getFileName()));
+			context.compilationUnitSpoon.setDeclaredPackage(getFactory().Package().getOrCreate(CharOperation.toString(scope.currentPackageName)));
+		}
 		return true;
 	}
 
@@ -1505,17 +1518,26 @@ public class JDTTreeBuilder extends ASTVisitor {
 	@Override
 	public boolean visit(TypeDeclaration typeDeclaration, CompilationUnitScope scope) {
 		if (new String(typeDeclaration.name).equals("package-info")) {
-			context.enter(factory.Package().getOrCreate(new String(typeDeclaration.binding.fPackage.readableName())), typeDeclaration);
+			CtPackage pack;
+			synchronized (getModelLock()) {
+				pack = factory.Package().getOrCreate(new String(typeDeclaration.binding.fPackage.readableName()));
+			}
+			context.enter(pack, typeDeclaration);
 			return true;
 		} else {
 			CtPackage pack;
-			if (typeDeclaration.binding.fPackage.shortReadableName() != null && typeDeclaration.binding.fPackage.shortReadableName().length > 0) {
-				pack = factory.Package().getOrCreate(new String(typeDeclaration.binding.fPackage.shortReadableName()));
-			} else {
-				pack = factory.Package().getRootPackage();
+			synchronized (getModelLock()) {
+				if (typeDeclaration.binding.fPackage.shortReadableName() != null && typeDeclaration.binding.fPackage.shortReadableName().length > 0) {
+					pack = factory.Package().getOrCreate(new String(typeDeclaration.binding.fPackage.shortReadableName()));
+				} else {
+					pack = factory.Package().getRootPackage();
+				}
 			}
 			context.enter(pack, typeDeclaration);
-			pack.addType(helper.createType(typeDeclaration));
+			CtType<?> type = helper.createType(typeDeclaration);
+			synchronized (getModelLock()) {
+				pack.addType(type);
+			}
 			return true;
 		}
 	}
@@ -310,7 +310,7 @@ class JDTTreeBuilderHelper {
 				CtFieldAccess<T> other = createFieldAccess(//
 						jdtTreeBuilder.getReferencesBuilder().<T>getVariableReference(null, qualifiedNameReference.tokens[i]), va, isOtherBinding && fromAssignment);
 				//set source position of va;
-				CompilationUnit cu = jdtTreeBuilder.getFactory().CompilationUnit().create(new String(jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.getFileName()));
+				CompilationUnit cu = jdtTreeBuilder.getContextBuilder().compilationUnitSpoon;
 				sourceEnd = (int) (positions[i]);
 				final int[] lineSeparatorPositions = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.compilationResult.lineSeparatorPositions;
 				va.setPosition(jdtTreeBuilder.getFactory().Core().createSourcePosition(cu, sourceStart, sourceStart, sourceEnd, lineSeparatorPositions));
@@ -402,7 +402,10 @@ class JDTTreeBuilderHelper {
 		CtFieldAccess<T> fieldAccess = createFieldAccess(jdtTreeBuilder.getReferencesBuilder().<T>getVariableReference((ProblemBinding) qualifiedNameReference.binding), null, fromAssignment);
 		// In no classpath mode and with qualified name, the type given by JDT is wrong...
 		final char[][] declaringClass = CharOperation.subarray(qualifiedNameReference.tokens, 0, qualifiedNameReference.tokens.length - 1);
-		final MissingTypeBinding declaringType = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(null, declaringClass);
+		final MissingTypeBinding declaringType;
+		synchronized (jdtTreeBuilder.getModelLock()) {
+			declaringType = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(null, declaringClass);
+		}
 		final CtTypeReference<T> declaringRef = jdtTreeBuilder.getReferencesBuilder().getTypeReference(declaringType);
 		fieldAccess.getVariable().setDeclaringType(declaringRef);
 		fieldAccess.getVariable().setStatic(true);
@@ -444,8 +447,12 @@ class JDTTreeBuilderHelper {
 	CtTypeAccess<?> createTypeAccess(QualifiedNameReference qualifiedNameReference, CtFieldReference<?> fieldReference) {
 		final TypeBinding receiverType = qualifiedNameReference.actualReceiverType;
 		if (receiverType != null) {
+			final ReferenceBinding enclosingType;
+			synchronized (jdtTreeBuilder.getModelLock()) {
+				enclosingType = qualifiedNameReference.fieldBinding().declaringClass.enclosingType();
+			}
 			final CtTypeReference<Object> qualifiedRef = jdtTreeBuilder.getReferencesBuilder().getQualifiedTypeReference(//
-					qualifiedNameReference.tokens, receiverType, qualifiedNameReference.fieldBinding().declaringClass.enclosingType(), new JDTTreeBuilder.OnAccessListener() {
+					qualifiedNameReference.tokens, receiverType, enclosingType, new JDTTreeBuilder.OnAccessListener() {
 						@Override
 						public boolean onAccess(char[][] tokens, int index) {
 							return !CharOperation.equals(tokens[index + 1], tokens[tokens.length - 1]);
@@ -491,8 +498,11 @@ class JDTTreeBuilderHelper {
 			char[][] packageName = CharOperation.subarray(qualifiedNameReference.tokens, 0, qualifiedNameReference.tokens.length - 1);
 			char[][] className = CharOperation.subarray(qualifiedNameReference.tokens, qualifiedNameReference.tokens.length - 1, qualifiedNameReference.tokens.length);
 			if (packageName.length > 0) {
-				final PackageBinding aPackage = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(packageName);
-				final MissingTypeBinding declaringType = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(aPackage, className);
+				final MissingTypeBinding declaringType;
+				synchronized (jdtTreeBuilder.getModelLock()) {
+					final PackageBinding aPackage = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(packageName);
+					declaringType = jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(aPackage, className);
+				}
 
 				typeReference = jdtTreeBuilder.getReferencesBuilder().getTypeReference(declaringType);
 			} else {
@@ -626,9 +636,13 @@ class JDTTreeBuilderHelper {
 				// superclasses aren't in the same package and when their visibilities are "default".
 				List<ModifierKind> modifiers = Arrays.asList(ModifierKind.PUBLIC, ModifierKind.PROTECTED);
 				final TypeBinding resolvedType = typeDeclaration.superclass.resolvedType;
+				final ReferenceBinding enclosingType;
+				synchronized (jdtTreeBuilder.getModelLock()) {
+					enclosingType = resolvedType.enclosingType();
+				}
 				if ((resolvedType instanceof MemberTypeBinding || resolvedType instanceof BinaryTypeBinding)//
-						&& resolvedType.enclosingType() != null && typeDeclaration.enclosingType.superclass != null//
-						&& Collections.disjoint(modifiers, getModifiers(resolvedType.enclosingType().modifiers))) {
+						&& enclosingType != null && typeDeclaration.enclosingType.superclass != null//
+						&& Collections.disjoint(modifiers, getModifiers(enclosingType.modifiers))) {
 					typeDeclaration.superclass.resolvedType = jdtTreeBuilder.new SpoonReferenceBinding(typeDeclaration.superclass.resolvedType.sourceName(),
 							(ReferenceBinding) typeDeclaration.enclosingType.superclass.resolvedType);
 				}
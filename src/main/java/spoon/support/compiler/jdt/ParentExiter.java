@@ -732,7 +732,10 @@ public class ParentExiter extends CtInheritanceScanner {
 		if (child instanceof CtClass) {
 			newClass.setAnonymousClass((CtClass<?>) child);
 			final QualifiedAllocationExpression node = (QualifiedAllocationExpression) jdtTreeBuilder.getContextBuilder().stack.peek().node;
-			final ReferenceBinding[] referenceBindings = node.resolvedType == null ? null : node.resolvedType.superInterfaces();
+			final ReferenceBinding[] referenceBindings;
+			synchronized (jdtTreeBuilder.getModelLock()) {
+				referenceBindings = node.resolvedType == null ? null : node.resolvedType.superInterfaces();
+			}
 			if (referenceBindings != null && referenceBindings.length > 0) {
 				((CtClass<?>) child).addSuperInterface(newClass.getType().clone());
 			} else if (newClass.getType() != null) {
@@ -768,10 +771,12 @@ public class ParentExiter extends CtInheritanceScanner {
 	@Override
 	public void visitCtPackage(CtPackage ctPackage) {
 		if (child instanceof CtType) {
-			if (ctPackage.getTypes().contains(child)) {
-				ctPackage.getTypes().remove(child);
+			synchronized (jdtTreeBuilder.getModelLock()) {
+				if (ctPackage.getTypes().contains(child)) {
+					ctPackage.getTypes().remove(child);
+				}
+				ctPackage.getTypes().add((CtType<?>) child);
 			}
-			ctPackage.getTypes().add((CtType<?>) child);
 			if (child.getPosition() != null && child.getPosition().getCompilationUnit() != null) {
 				child.getPosition().getCompilationUnit().getDeclaredTypes().add((CtType<?>) child);
 			}
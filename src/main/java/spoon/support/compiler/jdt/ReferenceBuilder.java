@@ -141,7 +141,11 @@ public class ReferenceBuilder {
 		CtTypeReference<T> accessedType = buildTypeReference((TypeReference) type, scope);
 		final TypeBinding receiverType = type != null ? type.resolvedType : null;
 		if (receiverType != null) {
-			final CtTypeReference<T> ref = getQualifiedTypeReference(type.tokens, receiverType, receiverType.enclosingType(), new JDTTreeBuilder.OnAccessListener() {
+			final ReferenceBinding enclosingType;
+			synchronized (this.jdtTreeBuilder.getModelLock()) {
+				enclosingType = receiverType.enclosingType();
+			}
+			final CtTypeReference<T> ref = getQualifiedTypeReference(type.tokens, receiverType, enclosingType, new JDTTreeBuilder.OnAccessListener() {
 				@Override
 				public boolean onAccess(char[][] tokens, int index) {
 					return true;
@@ -244,33 +248,36 @@ public class ReferenceBuilder {
 	 * @return a type reference.
 	 */
 	<T> CtTypeReference<T> getQualifiedTypeReference(char[][] tokens, TypeBinding receiverType, ReferenceBinding enclosingType, JDTTreeBuilder.OnAccessListener listener) {
-		if (enclosingType != null && Collections.disjoint(Arrays.asList(ModifierKind.PUBLIC, ModifierKind.PROTECTED), JDTTreeBuilderQuery.getModifiers(enclosingType.modifiers))) {
-			String access = "";
-			int i = 0;
-			final CompilationUnitDeclaration[] units = ((TreeBuilderCompiler) this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.typeRequestor).unitsToProcess;
-			for (; i < tokens.length; i++) {
-				final char[][] qualified = Arrays.copyOfRange(tokens, 0, i + 1);
-				if (searchPackage(qualified, units) == null) {
-					access = CharOperation.toString(qualified);
-					break;
+		// the super classes and member types are lazily resolved in the lookup environment
+		synchronized (this.jdtTreeBuilder.getModelLock()) {
+			if (enclosingType != null && Collections.disjoint(Arrays.asList(ModifierKind.PUBLIC, ModifierKind.PROTECTED), JDTTreeBuilderQuery.getModifiers(enclosingType.modifiers))) {
+				String access = "";
+				int i = 0;
+				final CompilationUnitDeclaration[] units = ((TreeBuilderCompiler) this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.typeRequestor).unitsToProcess;
+				for (; i < tokens.length; i++) {
+					final char[][] qualified = Arrays.copyOfRange(tokens, 0, i + 1);
+					if (searchPackage(qualified, units) == null) {
+						access = CharOperation.toString(qualified);
+						break;
+					}
 				}
-			}
-			if (!access.contains(CtPackage.PACKAGE_SEPARATOR)) {
-				access = searchType(access, this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.imports);
-			}
-			final TypeBinding accessBinding = searchTypeBinding(access, units);
-			if (accessBinding != null && listener.onAccess(tokens, i)) {
-				final TypeBinding superClassBinding = searchTypeBinding(accessBinding.superclass(), CharOperation.charToString(tokens[i + 1]));
-				if (superClassBinding != null) {
-					return this.getTypeReference(superClassBinding.clone(accessBinding));
+				if (!access.contains(CtPackage.PACKAGE_SEPARATOR)) {
+					access = searchType(access, this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.imports);
+				}
+				final TypeBinding accessBinding = searchTypeBinding(access, units);
+				if (accessBinding != null && listener.onAccess(tokens, i)) {
+					final TypeBinding superClassBinding = searchTypeBinding(accessBinding.superclass(), CharOperation.charToString(tokens[i + 1]));
+					if (superClassBinding != null) {
+						return this.getTypeReference(superClassBinding.clone(accessBinding));
+					} else {
+						return this.getTypeReference(receiverType);
+					}
 				} else {
 					return this.getTypeReference(receiverType);
 				}
-			} else {
-				return this.getTypeReference(receiverType);
 			}
+			return null;
 		}
-		return null;
 	}
 
 	/**
@@ -295,13 +302,16 @@ public class ReferenceBuilder {
 						}
 						char[][] packageName = CharOperation.subarray(anImport.getImportName(), 0, anImport.getImportName().length - indexDeclaring);
 						char[][] className = CharOperation.subarray(anImport.getImportName(), anImport.getImportName().length - indexDeclaring, anImport.getImportName().length - (indexDeclaring - 1));
-						PackageBinding aPackage;
-						if (packageName.length != 0) {
-							aPackage = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(packageName);
-						} else {
-							aPackage = null;
+						final MissingTypeBinding declaringType;
+						synchronized (this.jdtTreeBuilder.getModelLock()) {
+							PackageBinding aPackage;
+							if (packageName.length != 0) {
+								aPackage = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(packageName);
+							} else {
+								aPackage = null;
+							}
+							declaringType = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(aPackage, className);
 						}
-						final MissingTypeBinding declaringType = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createMissingType(aPackage, className);
 						this.jdtTreeBuilder.getContextBuilder().ignoreComputeImports = true;
 						final CtTypeReference<Object> typeReference = getTypeReference(declaringType);
 						this.jdtTreeBuilder.getContextBuilder().ignoreComputeImports = false;
@@ -312,18 +322,20 @@ public class ReferenceBuilder {
 						// `findImport(chars, false, false);` and `createPackage(chars)` require
 						// an array with a minimum length of 1 and throw an
 						// ArrayIndexOutOfBoundsException if `chars.length == 0`. Fixes #759.
-						if (chars.length > 0) {
-							Binding someBinding = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.findImport(chars, false, false);
-							if (someBinding != null && someBinding.isValidBinding() && someBinding instanceof PackageBinding) {
-								packageBinding = (PackageBinding) someBinding;
-							} else {
-								packageBinding = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(chars);
+						synchronized (this.jdtTreeBuilder.getModelLock()) {
+							if (chars.length > 0) {
+								Binding someBinding = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.findImport(chars, false, false);
+								if (someBinding != null && someBinding.isValidBinding() && someBinding instanceof PackageBinding) {
+									packageBinding = (PackageBinding) someBinding;
+								} else {
+									packageBinding = this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment.createPackage(chars);
+								}
+							}
+							if (packageBinding == null) {
+								// Big crisis here. We are already in noclasspath mode but JDT doesn't support always
+								// creation of a package in this mode. So, if we are in this brace, we make the job of JDT...
+								packageBinding = new PackageBinding(chars, null, this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment);
 							}
-						}
-						if (packageBinding == null) {
-							// Big crisis here. We are already in noclasspath mode but JDT doesn't support always
-							// creation of a package in this mode. So, if we are in this brace, we make the job of JDT...
-							packageBinding = new PackageBinding(chars, null, this.jdtTreeBuilder.getContextBuilder().compilationunitdeclaration.scope.environment);
 						}
 						return getPackageReference(packageBinding);
 					}
@@ -344,7 +356,12 @@ public class ReferenceBuilder {
 		ref.setType(getTypeReference(exec.returnType));
 
 		if (exec instanceof ProblemMethodBinding) {
-			if (exec.declaringClass != null && Arrays.asList(exec.declaringClass.methods()).contains(exec)) {
+			boolean isDeclared;
+			// methods() lazily resolves the methods in the lookup environment
+			synchronized (this.jdtTreeBuilder.getModelLock()) {
+				isDeclared = exec.declaringClass != null && Arrays.asList(exec.declaringClass.methods()).contains(exec);
+			}
+			if (isDeclared) {
 				ref.setDeclaringType(getTypeReference(exec.declaringClass));
 			} else {
 				final CtReference declaringType = getDeclaringReferenceFromImports(exec.constantPoolName());
@@ -529,9 +546,14 @@ public class ReferenceBuilder {
 		if (res == null) {
 			return this.jdtTreeBuilder.getFactory().Type().createReference(CharOperation.toString(ref.getParameterizedTypeName()));
 		}
-		CtPackageReference packageReference = index >= 0
-				? this.jdtTreeBuilder.getFactory().Package().getOrCreate(concatSubArray(namesParameterized, index)).getReference()
-				: this.jdtTreeBuilder.getFactory().Package().topLevel();
+		CtPackageReference packageReference;
+		if (index >= 0) {
+			synchronized (this.jdtTreeBuilder.getModelLock()) {
+				packageReference = this.jdtTreeBuilder.getFactory().Package().getOrCreate(concatSubArray(namesParameterized, index)).getReference();
+			}
+		} else {
+			packageReference = this.jdtTreeBuilder.getFactory().Package().topLevel();
+		}
 		inner.setPackage(packageReference);
 		return res;
 	}
@@ -605,8 +627,18 @@ public class ReferenceBuilder {
 		return param;
 	}
 
-	@SuppressWarnings("unchecked")
+	/**
+	 * Builds a type reference from a {@link TypeBinding}. The bindings are lazily resolved
+	 * in the lookup environment of JDT, so they are only read under the model lock.
+	 */
 	<T> CtTypeReference<T> getTypeReference(TypeBinding binding) {
+		synchronized (this.jdtTreeBuilder.getModelLock()) {
+			return getTypeReferenceOfBinding(binding);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> CtTypeReference<T> getTypeReferenceOfBinding(TypeBinding binding) {
 		if (binding == null) {
 			return null;
 		}
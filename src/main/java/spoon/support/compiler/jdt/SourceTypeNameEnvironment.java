@@ -0,0 +1,95 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler.jdt;
+
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.commons.io.IOUtils;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+
+import spoon.SpoonException;
+import spoon.compiler.SpoonFile;
+
+/**
+ * A JDT name environment which answers the types of the given source files,
+ * and delegates the other types to the classpath. JDT only reads the source
+ * files of the types it actually needs, which is used by incremental builds
+ * to resolve the types of the unchanged files without compiling them all.
+ */
+class SourceTypeNameEnvironment implements INameEnvironment {
+
+	private final INameEnvironment delegate;
+
+	private final Map<String, SpoonFile> filesByType;
+
+	private final Set<String> packages;
+
+	/**
+	 * @param delegate
+	 * 		the environment of the types which are not in the source files
+	 * @param filesByType
+	 * 		the source files by the qualified names of their top-level types
+	 * @param packages
+	 * 		the qualified names of the packages of these types
+	 */
+	SourceTypeNameEnvironment(INameEnvironment delegate, Map<String, SpoonFile> filesByType, Set<String> packages) {
+		this.delegate = delegate;
+		this.filesByType = filesByType;
+		this.packages = packages;
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+		NameEnvironmentAnswer answer = findSourceType(CharOperation.toString(compoundTypeName));
+		return answer != null ? answer : delegate.findType(compoundTypeName);
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+		NameEnvironmentAnswer answer = findSourceType(CharOperation.toString(CharOperation.arrayConcat(packageName, typeName)));
+		return answer != null ? answer : delegate.findType(typeName, packageName);
+	}
+
+	@Override
+	public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+		String name = parentPackageName == null ? new String(packageName) : CharOperation.toString(CharOperation.arrayConcat(parentPackageName, packageName));
+		return packages.contains(name) || delegate.isPackage(parentPackageName, packageName);
+	}
+
+	@Override
+	public void cleanup() {
+		delegate.cleanup();
+	}
+
+	private NameEnvironmentAnswer findSourceType(String qualifiedName) {
+		SpoonFile file = filesByType.get(qualifiedName);
+		if (file == null) {
+			return null;
+		}
+		try {
+			// same unit name as in FileCompiler, so that the positions refer to the same file
+			String fileName = file.isActualFile() ? file.getPath() : file.getName();
+			return new NameEnvironmentAnswer(new CompilationUnit(IOUtils.toCharArray(file.getContent()), fileName, null), null);
+		} catch (Exception e) {
+			throw new SpoonException(e);
+		}
+	}
+}
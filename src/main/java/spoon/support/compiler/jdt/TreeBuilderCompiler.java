@@ -26,6 +26,7 @@ import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.core.util.CommentRecorderParser;
 
 class TreeBuilderCompiler extends org.eclipse.jdt.internal.compiler.Compiler {
 
@@ -35,6 +36,16 @@ class TreeBuilderCompiler extends org.eclipse.jdt.internal.compiler.Compiler {
 		super(environment, policy, options, requestor, problemFactory, out, progress);
 	}
 
+	/**
+	 * Records the comments while parsing the units (like JDT's
+	 * CompilationUnitResolver), so that they do not have to be parsed again
+	 * for the comment builder.
+	 */
+	@Override
+	public void initializeParser() {
+		this.parser = new CommentRecorderParser(this.problemReporter, this.options.parseLiteralExpressionsAsConstants);
+	}
+
 	public CompilationUnitDeclaration[] buildUnits(CompilationUnit[] sourceUnits) {
 
 		// //////////////////////////////////////////////////////////////////////////
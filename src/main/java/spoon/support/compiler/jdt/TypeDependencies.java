@@ -0,0 +1,152 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.compiler.jdt;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import spoon.reflect.cu.CompilationUnit;
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.reference.CtTypeReference;
+import spoon.reflect.visitor.Query;
+import spoon.reflect.visitor.filter.ReferenceTypeFilter;
+import spoon.reflect.visitor.filter.TypeFilter;
+
+/**
+ * Maps the qualified names of the types to the paths of the compilation
+ * units which refer to them, so that an incremental build knows which
+ * unchanged files have to be built again. The sub types are also recorded,
+ * since the members inherited by the indirect sub types of a changed type
+ * change as well.
+ */
+class TypeDependencies {
+
+	private final Map<String, Set<String>> dependentPaths = new HashMap<>();
+
+	private final Map<String, Set<String>> referencedTypes = new HashMap<>();
+
+	private final Map<String, Set<String>> subTypePaths = new HashMap<>();
+
+	private final Map<String, Set<String>> superTypes = new HashMap<>();
+
+	private final Map<String, Set<String>> declaredTypes = new HashMap<>();
+
+	/**
+	 * Records the types referred to by the given compilation unit.
+	 */
+	void add(String path, CompilationUnit cu) {
+		remove(path);
+		Set<String> names = new HashSet<>();
+		Set<String> superNames = new HashSet<>();
+		Set<String> typeNames = new HashSet<>();
+		for (CtType<?> declaredType : cu.getDeclaredTypes()) {
+			for (CtTypeReference<?> reference : Query.getReferences(declaredType, new ReferenceTypeFilter<CtTypeReference<?>>(CtTypeReference.class))) {
+				names.add(reference.getQualifiedName());
+			}
+			for (CtType<?> type : declaredType.getElements(new TypeFilter<CtType<?>>(CtType.class))) {
+				typeNames.add(type.getQualifiedName());
+				if (type.getSuperclass() != null) {
+					superNames.add(type.getSuperclass().getQualifiedName());
+				}
+				for (CtTypeReference<?> superInterface : type.getSuperInterfaces()) {
+					superNames.add(superInterface.getQualifiedName());
+				}
+			}
+		}
+		referencedTypes.put(path, names);
+		superTypes.put(path, superNames);
+		declaredTypes.put(path, typeNames);
+		for (String name : names) {
+			addPath(dependentPaths, name, path);
+		}
+		for (String name : superNames) {
+			addPath(subTypePaths, name, path);
+		}
+	}
+
+	private static void addPath(Map<String, Set<String>> pathsByType, String name, String path) {
+		Set<String> paths = pathsByType.get(name);
+		if (paths == null) {
+			paths = new HashSet<>();
+			pathsByType.put(name, paths);
+		}
+		paths.add(path);
+	}
+
+	private static void removePath(Map<String, Set<String>> pathsByType, Set<String> names, String path) {
+		for (String name : names) {
+			Set<String> paths = pathsByType.get(name);
+			if (paths != null) {
+				paths.remove(path);
+				if (paths.isEmpty()) {
+					pathsByType.remove(name);
+				}
+			}
+		}
+	}
+
+	/**
+	 * Forgets the types referred to by the given compilation unit.
+	 */
+	void remove(String path) {
+		Set<String> names = referencedTypes.remove(path);
+		if (names == null) {
+			return;
+		}
+		removePath(dependentPaths, names, path);
+		removePath(subTypePaths, superTypes.remove(path), path);
+		declaredTypes.remove(path);
+	}
+
+	/**
+	 * Gets the paths of the compilation units which refer to the given type.
+	 */
+	Set<String> getDependentPaths(String qualifiedName) {
+		Set<String> paths = dependentPaths.get(qualifiedName);
+		if (paths == null) {
+			return Collections.emptySet();
+		}
+		return Collections.unmodifiableSet(paths);
+	}
+
+	/**
+	 * Gets the paths of the compilation units which declare a direct or
+	 * indirect sub type of the given type.
+	 */
+	Set<String> getSubTypePaths(String qualifiedName) {
+		Set<String> paths = new HashSet<>();
+		Deque<String> names = new ArrayDeque<>();
+		names.push(qualifiedName);
+		while (!names.isEmpty()) {
+			Set<String> subPaths = subTypePaths.get(names.pop());
+			if (subPaths == null) {
+				continue;
+			}
+			for (String path : subPaths) {
+				if (paths.add(path)) {
+					names.addAll(declaredTypes.get(path));
+				}
+			}
+		}
+		return paths;
+	}
+}
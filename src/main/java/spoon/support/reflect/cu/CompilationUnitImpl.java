@@ -24,8 +24,10 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
 
 import java.io.File;
-import java.io.FileInputStream;
+import java.lang.ref.SoftReference;
+import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -86,51 +88,95 @@ public class CompilationUnitImpl implements CompilationUnit, FactoryAccessor {
 		this.file = file;
 	}
 
-	String originalSourceCode;
+	/**
+	 * The source code is softly referenced, so that the code of all the
+	 * compilation units is not kept in memory: it is read again from the file
+	 * when it was released.
+	 */
+	transient SoftReference<String> originalSourceCode;
 
 	public String getOriginalSourceCode() {
-		try {
-			if (originalSourceCode == null) {
-				FileInputStream s = new FileInputStream(getFile());
-				byte[] elementBytes = new byte[s.available()];
-				s.read(elementBytes);
-				s.close();
-				originalSourceCode = new String(elementBytes);
+		String source = originalSourceCode != null ? originalSourceCode.get() : null;
+		if (source == null) {
+			try {
+				// decoded as the compiler did, so that the positions match the code
+				source = new String(Files.readAllBytes(getFile().toPath()), getFactory().getEnvironment().getEncoding());
+			} catch (Exception e) {
+				throw new RuntimeException(e);
 			}
-		} catch (Exception e) {
-			throw new RuntimeException(e);
+			originalSourceCode = new SoftReference<>(source);
 		}
-		return originalSourceCode;
+		return source;
+	}
+
+	/**
+	 * The sorted indexes of the tabulations in the source code, computed once
+	 * so that the columns of the positions are computed without the code.
+	 */
+	private transient int[] tabulations;
+
+	/**
+	 * Counts the tabulations of the source code between <code>start</code>
+	 * (inclusive) and <code>end</code> (exclusive).
+	 */
+	int countTabulations(int start, int end) {
+		int[] tabs = getTabulations();
+		return indexOf(tabs, end) - indexOf(tabs, start);
+	}
+
+	/** the index of the first tabulation at or after the given position */
+	private static int indexOf(int[] tabs, int position) {
+		int index = Arrays.binarySearch(tabs, position);
+		return index >= 0 ? index : -index - 1;
+	}
+
+	private int[] getTabulations() {
+		if (tabulations == null) {
+			// the units of virtual files have no code on disk
+			String source = getFile() != null && getFile().isFile() ? getOriginalSourceCode() : "";
+			int[] tabs = new int[16];
+			int count = 0;
+			for (int i = source.indexOf('\t'); i >= 0; i = source.indexOf('\t', i + 1)) {
+				if (count == tabs.length) {
+					tabs = Arrays.copyOf(tabs, count * 2);
+				}
+				tabs[count++] = i;
+			}
+			tabulations = Arrays.copyOf(tabs, count);
+		}
+		return tabulations;
 	}
 
 	public int beginOfLineIndex(int index) {
+		String source = getOriginalSourceCode();
 		int cur = index;
-		while (cur >= 0 && getOriginalSourceCode().charAt(cur) != '\n') {
+		while (cur >= 0 && source.charAt(cur) != '\n') {
 			cur--;
 		}
 		return cur + 1;
 	}
 
 	public int nextLineIndex(int index) {
+		String source = getOriginalSourceCode();
 		int cur = index;
-		while (cur < getOriginalSourceCode().length()
-				&& getOriginalSourceCode().charAt(cur) != '\n') {
+		while (cur < source.length()
+				&& source.charAt(cur) != '\n') {
 			cur++;
 		}
 		return cur + 1;
 	}
 
 	public int getTabCount(int index) {
+		String source = getOriginalSourceCode();
 		int cur = index;
 		int tabCount = 0;
 		int whiteSpaceCount = 0;
-		while (cur < getOriginalSourceCode().length()
-				&& (getOriginalSourceCode().charAt(cur) == ' ' || getOriginalSourceCode()
-				.charAt(cur) == '\t')) {
-			if (getOriginalSourceCode().charAt(cur) == '\t') {
+		while (cur < source.length()
+				&& (source.charAt(cur) == ' ' || source.charAt(cur) == '\t')) {
+			if (source.charAt(cur) == '\t') {
 				tabCount++;
 			}
-			if (getOriginalSourceCode().charAt(cur) == ' ') {
+			if (source.charAt(cur) == ' ') {
 				whiteSpaceCount++;
 			}
 			cur++;
@@ -30,6 +30,12 @@ public class SourcePositionImpl implements SourcePosition, Serializable {
 
 	private static final long serialVersionUID = 1L;
 
+	/**
+	 * The position of the elements which are not in a source file, shared by
+	 * all of them.
+	 */
+	public static final SourcePosition NOPOSITION = new SourcePositionImpl(null, -1, -1, -1, null);
+
 	/**
 	 * Search the line number corresponding to a specific position
 	 */
@@ -60,34 +66,23 @@ public class SourcePositionImpl implements SourcePosition, Serializable {
 	}
 
 	/**
-	 * Search the column number
+	 * Search the column number. The line is found in the line separators, and
+	 * the tabulations of the line in the ones indexed by the compilation unit,
+	 * so the source code is not read for each position.
 	 */
 	private int searchColumnNumber(int position) {
-		if (lineSeparatorPositions == null) {
-			return -1;
-		}
-		int length = lineSeparatorPositions.length;
-		if (length == 0) {
+		int line = searchLineNumber(position);
+		if (line == -1) {
 			return -1;
 		}
-		int i = 0;
-		for (i = 0; i < lineSeparatorPositions.length - 1; i++) {
-			if (lineSeparatorPositions[i] < position && (lineSeparatorPositions[i + 1] > position)) {
-				return position - lineSeparatorPositions[i];
-			}
-		}
+		int lineStart = line == 1 ? 0 : lineSeparatorPositions[line - 2] + 1;
 		int tabCount = 0;
 		int tabSize = 0;
-		if (getCompilationUnit() != null) {
+		if (getCompilationUnit() instanceof CompilationUnitImpl) {
 			tabSize = getCompilationUnit().getFactory().getEnvironment().getTabulationSize();
-			String source = getCompilationUnit().getOriginalSourceCode();
-			for (int j = lineSeparatorPositions[i]; j < position; j++) {
-				if (source.charAt(j) == '\t') {
-					tabCount++;
-				}
-			}
+			tabCount = ((CompilationUnitImpl) getCompilationUnit()).countTabulations(lineStart, position);
 		}
-		return (position - lineSeparatorPositions[i]) - tabCount + (tabCount * tabSize);
+		return (position - lineStart + 1) - tabCount + (tabCount * tabSize);
 	}
 
 	/** The position of the first byte of this element (incl. documentation and modifiers) */
@@ -187,6 +182,17 @@ public class SourcePositionImpl implements SourcePosition, Serializable {
 
 	transient CompilationUnit compilationUnit;
 
+	/**
+	 * Shares the position of the elements which are not in a source file when
+	 * a model is deserialized.
+	 */
+	private Object readResolve() {
+		if (sourceStart == -1 && sourceEnd == -1 && nameSourceStart == -1 && lineSeparatorPositions == null) {
+			return NOPOSITION;
+		}
+		return this;
+	}
+
 	public CompilationUnit getCompilationUnit() {
 		return compilationUnit;
 	}
@@ -17,6 +17,7 @@
 package spoon.support.reflect.declaration;
 
 import org.apache.log4j.Logger;
+import spoon.compiler.Environment;
 
 import spoon.reflect.code.CtComment;
 import spoon.reflect.cu.SourcePosition;
@@ -45,6 +46,7 @@ import spoon.support.visitor.equals.EqualsVisitor;
 import spoon.support.visitor.replace.ReplacementVisitor;
 
 import java.io.Serializable;
+import java.lang.ref.SoftReference;
 import java.lang.annotation.Annotation;
 import java.util.ArrayList;
 import java.util.Collections;
@@ -85,7 +87,10 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 
 	private List<CtComment> comments = emptyList();
 
-	public final SourcePosition DEFAULT_POSITION = new SourcePositionImpl(null, -1, -1, -1, null);
+	/**
+	 * The position of the elements which are not in a source file, which is shared by all of them.
+	 */
+	public static final SourcePosition DEFAULT_POSITION = SourcePositionImpl.NOPOSITION;
 
 	SourcePosition position = DEFAULT_POSITION;
 
@@ -225,16 +230,73 @@ public abstract class CtElementImpl implements CtElement, Serializable {
 
 	@Override
 	public String toString() {
-		DefaultJavaPrettyPrinter printer = new DefaultJavaPrettyPrinter(getFactory().getEnvironment());
+		return print(true);
+	}
+
+	/**
+	 * Prints this element with the printer of the current thread.
+	 *
+	 * @param computeImports
+	 * 		tells if the imports of the element are computed before printing it
+	 */
+	protected String print(boolean computeImports) {
+		Environment environment = getFactory().getEnvironment();
+		ToStringPrinter pooled = acquireToStringPrinter(environment);
+		DefaultJavaPrettyPrinter printer = pooled != null ? pooled.printer : new DefaultJavaPrettyPrinter(environment);
 		String errorMessage = "";
 		try {
-			printer.computeImports(this);
-			printer.scan(this);
-		} catch (ParentNotInitializedException ignore) {
-			LOGGER.error(ERROR_MESSAGE_TO_STRING, ignore);
-			errorMessage = ERROR_MESSAGE_TO_STRING;
+			try {
+				if (computeImports) {
+					printer.computeImports(this);
+				}
+				printer.scan(this);
+			} catch (ParentNotInitializedException ignore) {
+				LOGGER.error(ERROR_MESSAGE_TO_STRING, ignore);
+				errorMessage = ERROR_MESSAGE_TO_STRING;
+			}
+			return printer.toString() + errorMessage;
+		} finally {
+			if (pooled != null) {
+				printer.reset();
+				pooled.inUse = false;
+			}
+		}
+	}
+
+	/**
+	 * The printer reused by {@link #toString()} in each thread, so that printing
+	 * small elements does not allocate a new printer and buffer each time. It is
+	 * softly referenced, so that the pool does not keep the model of its
+	 * environment alive.
+	 */
+	private static final ThreadLocal<SoftReference<ToStringPrinter>> TO_STRING_PRINTER = new ThreadLocal<>();
+
+	/**
+	 * Gets the printer of the current thread for the given environment, or null
+	 * if it is already printing (i.e. toString() is called while printing).
+	 */
+	private static ToStringPrinter acquireToStringPrinter(Environment environment) {
+		SoftReference<ToStringPrinter> reference = TO_STRING_PRINTER.get();
+		ToStringPrinter pooled = reference != null ? reference.get() : null;
+		if (pooled == null || pooled.environment != environment) {
+			pooled = new ToStringPrinter(environment);
+			TO_STRING_PRINTER.set(new SoftReference<>(pooled));
+		} else if (pooled.inUse) {
+			return null;
+		}
+		pooled.inUse = true;
+		return pooled;
+	}
+
+	private static final class ToStringPrinter {
+		final Environment environment;
+		final DefaultJavaPrettyPrinter printer;
+		boolean inUse = false;
+
+		ToStringPrinter(Environment environment) {
+			this.environment = environment;
+			this.printer = new DefaultJavaPrettyPrinter(environment);
 		}
-		return printer.toString() + errorMessage;
 	}
 
 	@SuppressWarnings("unchecked")
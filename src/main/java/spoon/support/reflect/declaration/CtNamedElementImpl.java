@@ -44,6 +44,9 @@ public abstract class CtNamedElementImpl extends CtElementImpl implements CtName
 			simpleName = ((FactoryImpl) factory).dedup(simpleName);
 		}
 		this.simpleName = simpleName;
+		if (parent instanceof CtPackageImpl) {
+			((CtPackageImpl) parent).childRenamed();
+		}
 		return (T) this;
 	}
 
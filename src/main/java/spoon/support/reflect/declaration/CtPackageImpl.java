@@ -25,7 +25,7 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.ParentNotInitializedException;
 import spoon.reflect.reference.CtPackageReference;
 import spoon.reflect.visitor.CtVisitor;
-import spoon.support.util.QualifiedNameBasedSortedSet;
+import spoon.support.util.NameIndexedSortedSet;
 
 /**
  * The implementation for {@link spoon.reflect.declaration.CtPackage}.
@@ -64,12 +64,11 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 		}
 
 		// it already exists
-		for (CtPackage p1 : packs) {
-			if (p1.getQualifiedName().equals(pack.getQualifiedName())) {
-				addAllTypes(pack, p1);
-				addAllPackages(pack, p1);
-				return (T) this;
-			}
+		CtPackage p1 = getPackage(pack.getSimpleName());
+		if (p1 != null && p1.getQualifiedName().equals(pack.getQualifiedName())) {
+			addAllTypes(pack, p1);
+			addAllPackages(pack, p1);
+			return (T) this;
 		}
 
 		pack.setParent(this);
@@ -79,11 +78,11 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 	}
 
 	private Set<CtPackage> orderedPackageSet() {
-		return new QualifiedNameBasedSortedSet<>();
+		return new NameIndexedSortedSet<>();
 	}
 
 	private Set<CtType<?>> orderedTypeSet() {
-		return new QualifiedNameBasedSortedSet<>();
+		return new NameIndexedSortedSet<>();
 	}
 
 	/** add all types of "from" in "to" */
@@ -121,6 +120,9 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 
 	@Override
 	public CtPackage getPackage(String name) {
+		if (packs instanceof NameIndexedSortedSet) {
+			return ((NameIndexedSortedSet<CtPackage>) packs).get(name);
+		}
 		for (CtPackage p : packs) {
 			if (p.getSimpleName().equals(name)) {
 				return p;
@@ -146,6 +148,9 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 	@Override
 	@SuppressWarnings("unchecked")
 	public <T extends CtType<?>> T getType(String simpleName) {
+		if (types instanceof NameIndexedSortedSet) {
+			return (T) ((NameIndexedSortedSet<CtType<?>>) types).get(simpleName);
+		}
 		for (CtType<?> t : types) {
 			if (t.getSimpleName().equals(simpleName)) {
 				return (T) t;
@@ -208,6 +213,19 @@ public class CtPackageImpl extends CtNamedElementImpl implements CtPackage {
 		types.remove(type);
 	}
 
+	/**
+	 * Called when a type or a sub-package of this package is renamed, so that
+	 * the lookups by simple name stay consistent.
+	 */
+	void childRenamed() {
+		if (packs instanceof NameIndexedSortedSet) {
+			((NameIndexedSortedSet<CtPackage>) packs).invalidateIndex();
+		}
+		if (types instanceof NameIndexedSortedSet) {
+			((NameIndexedSortedSet<CtType<?>>) types).invalidateIndex();
+		}
+	}
+
 	@Override
 	public SourcePosition getPosition() {
 		/*
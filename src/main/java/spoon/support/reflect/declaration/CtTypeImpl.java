@@ -514,12 +514,13 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	@Override
 	public <M, C extends CtType<T>> C addMethod(CtMethod<M> method) {
 		if (method != null) {
+			final String signature = method.getSignature();
 			for (CtTypeMember typeMember : new ArrayList<>(typeMembers)) {
 				if (!(typeMember instanceof CtMethod)) {
 					continue;
 				}
 				CtMethod<?> m = (CtMethod<?>) typeMember;
-				if (m.getSignature().equals(method.getSignature())) {
+				if (m.getSignature().equals(signature)) {
 					// replace old method by new one (based on signature and not equality)
 					// we have to do it by hand
 					typeMembers.remove(m);
@@ -749,8 +750,8 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 		}
 
 		final String over = method.getSignature();
-		for (CtMethod<?> m : getMethods()) {
-			if (m.getSignature().equals(over)) {
+		for (CtTypeMember typeMember : typeMembers) {
+			if (typeMember instanceof CtMethod && ((CtMethod<?>) typeMember).getSignature().equals(over)) {
 				return true;
 			}
 		}
@@ -837,11 +838,12 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public Collection<CtExecutableReference<?>> getDeclaredExecutables() {
-		if (getMethods().isEmpty()) {
+		final Set<CtMethod<?>> methods = getMethods();
+		if (methods.isEmpty()) {
 			return Collections.emptyList();
 		}
-		List<CtExecutableReference<?>> l = new ArrayList<>(getMethods().size());
-		for (CtExecutable<?> m : getMethods()) {
+		List<CtExecutableReference<?>> l = new ArrayList<>(methods.size());
+		for (CtExecutable<?> m : methods) {
 			l.add(m.getReference());
 		}
 		return Collections.unmodifiableList(l);
@@ -863,13 +865,13 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 	 * puts all methods of from in destination based on signatures only
 	 */
 	private void addAllBasedOnSignature(Set<CtMethod<?>> from, Set<CtMethod<?>> destination) {
-		List<String> signatures = new ArrayList<>();
+		Set<String> signatures = new HashSet<>();
 		for (CtMethod<?> m : destination) {
 			signatures.add(m.getSignature());
 		}
 
 		for (CtMethod<?> m : from) {
-			if (!signatures.contains(m.getSignature())) {
+			if (signatures.add(m.getSignature())) {
 				destination.add(m);
 			}
 		}
@@ -877,7 +879,8 @@ public abstract class CtTypeImpl<T> extends CtNamedElementImpl implements CtType
 
 	@Override
 	public Set<CtMethod<?>> getAllMethods() {
-		Set<CtMethod<?>> l = new SignatureBasedSortedSet<>(getMethods());
+		// getMethods() already returns a fresh signature-sorted set
+		Set<CtMethod<?>> l = getMethods();
 		if ((getSuperclass() != null)) {
 			try {
 				CtType<?> t = getSuperclass().getTypeDeclaration();
@@ -0,0 +1,149 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import java.util.Collection;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import spoon.reflect.declaration.CtNamedElement;
+
+/**
+ * A {@link QualifiedNameBasedSortedSet} which also indexes its elements by
+ * simple name, so that {@link #get(String)} does not iterate over the whole
+ * set. It is used for the types and the sub-packages of a package.
+ *
+ * The index is maintained by {@link #add(CtNamedElement)} and
+ * {@link #remove(Object)}, and lazily rebuilt when the set is modified by
+ * other means (e.g. through its iterator) or when an element is renamed (see
+ * {@link #invalidateIndex()}). The index is read once per lookup and only
+ * published once built, so that the lookups are safe while an element is
+ * renamed by another thread (see {@link spoon.support.ParallelProcessingManager}).
+ */
+public class NameIndexedSortedSet<E extends CtNamedElement> extends QualifiedNameBasedSortedSet<E> {
+
+	private static final long serialVersionUID = 1L;
+
+	private transient volatile Index<E> index;
+
+	public NameIndexedSortedSet(Collection<E> elements) {
+		this();
+		addAll(elements);
+	}
+
+	public NameIndexedSortedSet() {
+		super();
+	}
+
+	/**
+	 * Returns the first element (in the order of the set) which has the given
+	 * simple name, or null if there is none. The elements without a name are
+	 * not indexed.
+	 */
+	public E get(String simpleName) {
+		if (simpleName == null) {
+			return null;
+		}
+		Index<E> current = index;
+		if (current == null || current.size != size()) {
+			current = rebuildIndex();
+		}
+		E element = current.elements.get(simpleName);
+		if (element != null && !simpleName.equals(element.getSimpleName())) {
+			// the element was renamed without notification
+			element = rebuildIndex().elements.get(simpleName);
+		}
+		return element;
+	}
+
+	/**
+	 * Discards the index, which is rebuilt on the next lookup. To be called
+	 * when an element of the set is renamed.
+	 */
+	public void invalidateIndex() {
+		index = null;
+	}
+
+	private Index<E> rebuildIndex() {
+		Index<E> newIndex = new Index<>();
+		for (E e : this) {
+			if (e.getSimpleName() != null && !newIndex.elements.containsKey(e.getSimpleName())) {
+				newIndex.elements.put(e.getSimpleName(), e);
+			}
+		}
+		newIndex.size = size();
+		index = newIndex;
+		return newIndex;
+	}
+
+	@Override
+	public boolean add(E e) {
+		boolean added = super.add(e);
+		Index<E> current = index;
+		if (added && current != null) {
+			if (current.size == size() - 1 && (e.getSimpleName() == null || current.elements.putIfAbsent(e.getSimpleName(), e) == null)) {
+				current.size = size();
+			} else {
+				index = null;
+			}
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		boolean removed = super.remove(o);
+		if (removed && index != null) {
+			// another element of the same name may take the place of the removed one
+			index = null;
+		}
+		return removed;
+	}
+
+	@Override
+	public boolean addAll(Collection<? extends E> c) {
+		boolean modified = super.addAll(c);
+		if (modified) {
+			index = null;
+		}
+		return modified;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		index = null;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public Object clone() {
+		NameIndexedSortedSet<E> clone = (NameIndexedSortedSet<E>) super.clone();
+		clone.index = null;
+		return clone;
+	}
+
+	/**
+	 * The elements by simple name, with the size of the set when they were
+	 * consistent with it. The map is concurrent since the elements added to
+	 * the set are added to the published index.
+	 */
+	private static final class Index<E> {
+		final ConcurrentMap<String, E> elements = new ConcurrentHashMap<>();
+		volatile int size = -1;
+	}
+}
@@ -0,0 +1,175 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import java.lang.ref.SoftReference;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import spoon.reflect.declaration.CtType;
+
+/**
+ * A bounded cache of the shadow types built by
+ * {@link spoon.reflect.factory.TypeFactory#get(Class)} from the Java
+ * reflection, so that looking up the same runtime class twice (e.g.
+ * java.lang.String) does not build a new reflective model each time.
+ *
+ * The least recently used entries are evicted when the maximum size is
+ * reached. When soft references are enabled, the cached types can also be
+ * reclaimed by the garbage collector under memory pressure.
+ */
+public class ShadowTypeCache {
+
+	/**
+	 * The default maximum number of cached shadow types.
+	 */
+	public static final int DEFAULT_MAXIMUM_SIZE = 1000;
+
+	private final int maximumSize;
+
+	private final boolean softReferences;
+
+	private final Map<Class<?>, Object> cache;
+
+	private long hitCount = 0;
+
+	private long missCount = 0;
+
+	private long evictionCount = 0;
+
+	/**
+	 * Creates a cache of {@link #DEFAULT_MAXIMUM_SIZE} entries, held by soft references.
+	 */
+	public ShadowTypeCache() {
+		this(DEFAULT_MAXIMUM_SIZE, true);
+	}
+
+	/**
+	 * Creates a cache.
+	 *
+	 * @param maximumSize
+	 * 		the maximum number of cached types, 0 disables the cache
+	 * @param softReferences
+	 * 		true if the cached types are held by soft references
+	 */
+	public ShadowTypeCache(final int maximumSize, boolean softReferences) {
+		if (maximumSize < 0) {
+			throw new IllegalArgumentException("The maximum size of the cache cannot be negative: " + maximumSize);
+		}
+		this.maximumSize = maximumSize;
+		this.softReferences = softReferences;
+		this.cache = new LinkedHashMap<Class<?>, Object>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Class<?>, Object> eldest) {
+				if (size() > maximumSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Returns the cached shadow type of the given class, or null if it is not
+	 * in the cache (never cached, evicted or garbage collected).
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> CtType<T> get(Class<?> cl) {
+		Object value = cache.get(cl);
+		CtType<T> type = null;
+		if (value instanceof SoftReference) {
+			type = ((SoftReference<CtType<T>>) value).get();
+			if (type == null) {
+				// reclaimed by the garbage collector
+				cache.remove(cl);
+				evictionCount++;
+			}
+		} else {
+			type = (CtType<T>) value;
+		}
+		if (type == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return type;
+	}
+
+	/**
+	 * Adds the shadow type of the given class in the cache.
+	 */
+	public synchronized void put(Class<?> cl, CtType<?> type) {
+		if (maximumSize == 0 || type == null) {
+			return;
+		}
+		cache.put(cl, softReferences ? new SoftReference<CtType<?>>(type) : type);
+	}
+
+	/**
+	 * Removes all the cached types. The counters are not reset.
+	 */
+	public synchronized void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * Returns the number of cached entries (including the ones whose soft
+	 * reference may have been cleared and not yet detected).
+	 */
+	public synchronized int size() {
+		return cache.size();
+	}
+
+	/**
+	 * Returns the maximum number of cached types.
+	 */
+	public int getMaximumSize() {
+		return maximumSize;
+	}
+
+	/**
+	 * Tells if the cached types are held by soft references.
+	 */
+	public boolean isSoftReferences() {
+		return softReferences;
+	}
+
+	/**
+	 * Returns the number of lookups which found a cached type.
+	 */
+	public synchronized long getHitCount() {
+		return hitCount;
+	}
+
+	/**
+	 * Returns the number of lookups which did not find a cached type.
+	 */
+	public synchronized long getMissCount() {
+		return missCount;
+	}
+
+	/**
+	 * Returns the number of entries removed because the cache was full or
+	 * because the garbage collector reclaimed them.
+	 */
+	public synchronized long getEvictionCount() {
+		return evictionCount;
+	}
+}
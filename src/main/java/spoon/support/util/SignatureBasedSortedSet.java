@@ -16,13 +16,23 @@
  */
 package spoon.support.util;
 
+import java.util.AbstractSet;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableSet;
 import java.util.TreeSet;
 
 import spoon.reflect.declaration.CtExecutable;
 import spoon.support.comparator.SignatureComparator;
 
-/** maintains unicity with method signatures */
+/**
+ * maintains unicity with method signatures. The signatures of the elements are
+ * cached while they are in the set, and forgotten on every removal, including
+ * the ones through the iterators and the views of the set.
+ */
 public class SignatureBasedSortedSet<E extends CtExecutable<?>> extends TreeSet<E> {
 
 	private static final long serialVersionUID = 1L;
@@ -33,7 +43,300 @@ public class SignatureBasedSortedSet<E extends CtExecutable<?>> extends TreeSet<
 	}
 
 	public SignatureBasedSortedSet() {
-		super(new SignatureComparator());
+		super(new CachingSignatureComparator());
+	}
+
+	@Override
+	public boolean add(E e) {
+		CachingSignatureComparator comparator = getCachingComparator();
+		String previous = comparator.cache(e);
+		boolean added = false;
+		try {
+			added = super.add(e);
+		} finally {
+			if (!added && previous == null) {
+				// e is not an element of this set
+				comparator.forget(e);
+			}
+		}
+		return added;
+	}
+
+	@Override
+	public boolean remove(Object o) {
+		boolean removed = super.remove(o);
+		if (removed) {
+			getCachingComparator().forget(o);
+		}
+		return removed;
+	}
+
+	@Override
+	public void clear() {
+		super.clear();
+		getCachingComparator().forgetAll();
+	}
+
+	@Override
+	public E pollFirst() {
+		return forget(super.pollFirst());
+	}
+
+	@Override
+	public E pollLast() {
+		return forget(super.pollLast());
+	}
+
+	@Override
+	public Iterator<E> iterator() {
+		return new ForgettingIterator(super.iterator());
+	}
+
+	@Override
+	public Iterator<E> descendingIterator() {
+		return new ForgettingIterator(super.descendingIterator());
+	}
+
+	@Override
+	public NavigableSet<E> descendingSet() {
+		return new ForgettingView(super.descendingSet());
+	}
+
+	@Override
+	public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+		return new ForgettingView(super.subSet(fromElement, fromInclusive, toElement, toInclusive));
+	}
+
+	@Override
+	public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+		return new ForgettingView(super.headSet(toElement, inclusive));
+	}
+
+	@Override
+	public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+		return new ForgettingView(super.tailSet(fromElement, inclusive));
+	}
+
+	/**
+	 * Returns a copy of this set. Unlike {@link TreeSet#clone()}, the copy has
+	 * its own comparator, so that it caches the signatures of its own elements.
+	 */
+	@Override
+	public Object clone() {
+		return new SignatureBasedSortedSet<>(this);
+	}
+
+	private CachingSignatureComparator getCachingComparator() {
+		return (CachingSignatureComparator) comparator();
+	}
+
+	private E forget(E removed) {
+		if (removed != null) {
+			getCachingComparator().forget(removed);
+		}
+		return removed;
+	}
+
+	/**
+	 * Forgets the signatures of the elements removed by the wrapped iterator.
+	 */
+	private class ForgettingIterator implements Iterator<E> {
+		private final Iterator<E> iterator;
+		private E last;
+
+		ForgettingIterator(Iterator<E> iterator) {
+			this.iterator = iterator;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return iterator.hasNext();
+		}
+
+		@Override
+		public E next() {
+			last = iterator.next();
+			return last;
+		}
+
+		@Override
+		public void remove() {
+			iterator.remove();
+			forget(last);
+		}
+	}
+
+	/**
+	 * A view of the set, which caches the signatures of the elements added
+	 * through it and forgets the ones of the elements removed through it.
+	 */
+	private class ForgettingView extends AbstractSet<E> implements NavigableSet<E> {
+		private final NavigableSet<E> view;
+
+		ForgettingView(NavigableSet<E> view) {
+			this.view = view;
+		}
+
+		@Override
+		public int size() {
+			return view.size();
+		}
+
+		@Override
+		public boolean contains(Object o) {
+			return view.contains(o);
+		}
+
+		@Override
+		public boolean add(E e) {
+			CachingSignatureComparator comparator = getCachingComparator();
+			String previous = comparator.cache(e);
+			boolean added = false;
+			try {
+				added = view.add(e);
+			} finally {
+				if (!added && previous == null) {
+					comparator.forget(e);
+				}
+			}
+			return added;
+		}
+
+		@Override
+		public boolean remove(Object o) {
+			boolean removed = view.remove(o);
+			if (removed) {
+				getCachingComparator().forget(o);
+			}
+			return removed;
+		}
+
+		@Override
+		public Iterator<E> iterator() {
+			return new ForgettingIterator(view.iterator());
+		}
+
+		@Override
+		public Iterator<E> descendingIterator() {
+			return new ForgettingIterator(view.descendingIterator());
+		}
+
+		@Override
+		public E pollFirst() {
+			return forget(view.pollFirst());
+		}
+
+		@Override
+		public E pollLast() {
+			return forget(view.pollLast());
+		}
+
+		@Override
+		public Comparator<? super E> comparator() {
+			return view.comparator();
+		}
+
+		@Override
+		public E first() {
+			return view.first();
+		}
+
+		@Override
+		public E last() {
+			return view.last();
+		}
+
+		@Override
+		public E lower(E e) {
+			return view.lower(e);
+		}
+
+		@Override
+		public E floor(E e) {
+			return view.floor(e);
+		}
+
+		@Override
+		public E ceiling(E e) {
+			return view.ceiling(e);
+		}
+
+		@Override
+		public E higher(E e) {
+			return view.higher(e);
+		}
+
+		@Override
+		public NavigableSet<E> descendingSet() {
+			return new ForgettingView(view.descendingSet());
+		}
+
+		@Override
+		public NavigableSet<E> subSet(E fromElement, boolean fromInclusive, E toElement, boolean toInclusive) {
+			return new ForgettingView(view.subSet(fromElement, fromInclusive, toElement, toInclusive));
+		}
+
+		@Override
+		public NavigableSet<E> headSet(E toElement, boolean inclusive) {
+			return new ForgettingView(view.headSet(toElement, inclusive));
+		}
+
+		@Override
+		public NavigableSet<E> tailSet(E fromElement, boolean inclusive) {
+			return new ForgettingView(view.tailSet(fromElement, inclusive));
+		}
+
+		@Override
+		public NavigableSet<E> subSet(E fromElement, E toElement) {
+			return subSet(fromElement, true, toElement, false);
+		}
+
+		@Override
+		public NavigableSet<E> headSet(E toElement) {
+			return headSet(toElement, false);
+		}
+
+		@Override
+		public NavigableSet<E> tailSet(E fromElement) {
+			return tailSet(fromElement, true);
+		}
 	}
 
+	/**
+	 * Compares the executables by signature, with the signatures of the
+	 * elements of the set computed only once, when they are added. As for any
+	 * sorted set, the elements must not be modified while they are in the set.
+	 */
+	private static class CachingSignatureComparator extends SignatureComparator {
+
+		private static final long serialVersionUID = 1L;
+
+		private transient Map<CtExecutable<?>, String> signatures;
+
+		@Override
+		protected String getSignature(CtExecutable<?> executable) {
+			String signature = signatures == null ? null : signatures.get(executable);
+			if (signature == null) {
+				signature = super.getSignature(executable);
+			}
+			return signature;
+		}
+
+		String cache(CtExecutable<?> executable) {
+			if (signatures == null) {
+				signatures = new IdentityHashMap<>();
+			}
+			return signatures.put(executable, super.getSignature(executable));
+		}
+
+		void forget(Object executable) {
+			if (signatures != null) {
+				signatures.remove(executable);
+			}
+		}
+
+		void forgetAll() {
+			signatures = null;
+		}
+	}
 }
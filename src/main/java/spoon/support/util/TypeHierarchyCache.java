@@ -0,0 +1,120 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.util;
+
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import spoon.reflect.declaration.CtType;
+import spoon.reflect.reference.CtExecutableReference;
+import spoon.reflect.reference.CtTypeParameterReference;
+import spoon.reflect.reference.CtTypeReference;
+
+/**
+ * Memoizes the answers of {@link CtTypeReference#isSubtypeOf(CtTypeReference)}
+ * and {@link CtType#isAssignableFrom(CtTypeReference)} by the qualified names of
+ * the types, so that a query which checks many candidates against the same
+ * types (e.g. finding all the overriders of a method) resolves each pair of
+ * types only once.
+ *
+ * The cache does not observe the model: it is meant to live as long as a
+ * query, and must be dropped (or {@link #clear()}ed) when the super classes
+ * or super interfaces of the model types change.
+ */
+public class TypeHierarchyCache {
+
+	private final Map<String, Map<String, Boolean>> subtypes = new HashMap<>();
+
+	private final Map<CtType<?>, Map<String, Boolean>> declarations = new IdentityHashMap<>();
+
+	/**
+	 * Tells if <code>subType</code> is a sub type of <code>superType</code>,
+	 * as {@link CtTypeReference#isSubtypeOf(CtTypeReference)} does.
+	 */
+	public boolean isSubtypeOf(CtTypeReference<?> subType, CtTypeReference<?> superType) {
+		if (!isCacheable(subType) || !isCacheable(superType)) {
+			return subType.isSubtypeOf(superType);
+		}
+		Map<String, Boolean> superTypes = subtypes.get(subType.getQualifiedName());
+		if (superTypes == null) {
+			superTypes = new HashMap<>();
+			subtypes.put(subType.getQualifiedName(), superTypes);
+		}
+		Boolean result = superTypes.get(superType.getQualifiedName());
+		if (result == null) {
+			result = subType.isSubtypeOf(superType);
+			superTypes.put(superType.getQualifiedName(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * Tells if the declaration <code>type</code> is assignable from
+	 * <code>subType</code>, i.e. if <code>subType</code> is a sub type of
+	 * <code>type</code>, as {@link CtType#isAssignableFrom(CtTypeReference)} does.
+	 */
+	public boolean isAssignableFrom(CtType<?> type, CtTypeReference<?> subType) {
+		if (!isCacheable(subType)) {
+			return type.isAssignableFrom(subType);
+		}
+		Map<String, Boolean> subTypes = declarations.get(type);
+		if (subTypes == null) {
+			subTypes = new HashMap<>();
+			declarations.put(type, subTypes);
+		}
+		Boolean result = subTypes.get(subType.getQualifiedName());
+		if (result == null) {
+			result = type.isAssignableFrom(subType);
+			subTypes.put(subType.getQualifiedName(), result);
+		}
+		return result;
+	}
+
+	/**
+	 * type parameters are resolved in the context of the reference, so their
+	 * qualified name does not identify them
+	 */
+	private boolean isCacheable(CtTypeReference<?> type) {
+		return type.getQualifiedName() != null && !(type instanceof CtTypeParameterReference);
+	}
+
+	/**
+	 * Tells if <code>executable</code> overrides <code>overridden</code>, as
+	 * {@link CtExecutableReference#isOverriding(CtExecutableReference)} does.
+	 */
+	public boolean isOverriding(CtExecutableReference<?> executable, CtExecutableReference<?> overridden) {
+		final boolean isSame = executable.getSimpleName().equals(overridden.getSimpleName()) && executable.getParameters().equals(overridden.getParameters())
+				&& executable.getActualTypeArguments().equals(overridden.getActualTypeArguments());
+		if (!isSame) {
+			return false;
+		}
+		CtTypeReference<?> declaringType = executable.getDeclaringType();
+		if (declaringType.isAnonymous()) {
+			declaringType = declaringType.getDeclaringType();
+		}
+		return isSubtypeOf(declaringType, overridden.getDeclaringType());
+	}
+
+	/**
+	 * Forgets all the memoized answers.
+	 */
+	public void clear() {
+		subtypes.clear();
+		declarations.clear();
+	}
+}
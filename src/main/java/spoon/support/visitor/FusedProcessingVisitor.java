@@ -0,0 +1,151 @@
+/**
+ * Copyright (C) 2006-2016 INRIA and contributors
+ * Spoon - http://spoon.gforge.inria.fr/
+ *
+ * This software is governed by the CeCILL-C License under French law and
+ * abiding by the rules of distribution of free software. You can use, modify
+ * and/or redistribute the software under the terms of the CeCILL-C license as
+ * circulated by CEA, CNRS and INRIA at http://www.cecill.info.
+ *
+ * This program is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or
+ * FITNESS FOR A PARTICULAR PURPOSE. See the CeCILL-C License for more details.
+ *
+ * The fact that you are presently reading this means that you have had
+ * knowledge of the CeCILL-C license and that you accept its terms.
+ */
+package spoon.support.visitor;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import spoon.processing.ProcessInterruption;
+import spoon.processing.Processor;
+import spoon.processing.TraversalStrategy;
+import spoon.reflect.declaration.CtElement;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.ContainmentRules;
+import spoon.reflect.visitor.CtScanner;
+
+/**
+ * This visitor applies several processors in a single traversal of the
+ * model. At each element, the processors are upcalled in their order, as
+ * {@link ProcessingVisitor} does for one processor. All the processors must
+ * have the same traversal strategy.
+ */
+public class FusedProcessingVisitor extends CtScanner {
+
+	Factory factory;
+
+	List<Processor<?>> processors;
+
+	TraversalStrategy traversalStrategy;
+
+	/**
+	 * The processors which process the elements of a class, computed once per
+	 * concrete class of element.
+	 */
+	private final Map<Class<?>, Processor<?>[]> dispatchTable = new HashMap<>();
+
+	/**
+	 * Tells which elements may contain elements processed by one of the
+	 * processors, the other subtrees are not scanned.
+	 */
+	private ContainmentRules containment;
+
+	/**
+	 * The constructor.
+	 *
+	 * @param processors
+	 * 		the processors to apply, which all have the given traversal strategy
+	 */
+	public FusedProcessingVisitor(Factory factory, List<Processor<?>> processors, TraversalStrategy traversalStrategy) {
+		this.factory = factory;
+		this.processors = new ArrayList<>(processors);
+		this.traversalStrategy = traversalStrategy;
+	}
+
+	private Processor<?>[] getProcessors(Class<?> elementClass) {
+		Processor<?>[] dispatched = dispatchTable.get(elementClass);
+		if (dispatched == null) {
+			List<Processor<?>> matching = new ArrayList<>();
+			for (Processor<?> p : processors) {
+				if (ProcessingVisitor.isProcessedClass(p, elementClass)) {
+					matching.add(p);
+				}
+			}
+			dispatched = matching.toArray(new Processor<?>[matching.size()]);
+			dispatchTable.put(elementClass, dispatched);
+		}
+		return dispatched;
+	}
+
+	/**
+	 * Gets the processors which are still applied, that is which were not
+	 * interrupted.
+	 */
+	public List<Processor<?>> getProcessors() {
+		return processors;
+	}
+
+	@Override
+	public void scan(Collection<? extends CtElement> elements) {
+		ProcessingVisitor.scanSnapshot(this, elements);
+	}
+
+	@Override
+	public void scan(CtElement e) {
+		if (e == null) {
+			return;
+		}
+		if (traversalStrategy == TraversalStrategy.PRE_ORDER) {
+			process(e);
+		}
+		if (getContainment().canContain(e)) {
+			super.scan(e);
+		}
+		if (traversalStrategy == TraversalStrategy.POST_ORDER) {
+			process(e);
+		}
+	}
+
+	private ContainmentRules getContainment() {
+		if (containment == null) {
+			List<Class<?>> types = new ArrayList<>();
+			for (Processor<?> p : processors) {
+				if (p.getProcessedElementTypes() != null) {
+					types.addAll(p.getProcessedElementTypes());
+				}
+			}
+			containment = new ContainmentRules(types);
+		}
+		return containment;
+	}
+
+	/**
+	 * Upcalls the processors on the given element. A processor which
+	 * interrupts its processing is not applied to the next elements, as when
+	 * it is applied alone.
+	 */
+	@SuppressWarnings("unchecked")
+	private void process(CtElement e) {
+		if (factory.getEnvironment().isProcessingStopped()) {
+			return;
+		}
+		for (Processor<?> dispatched : getProcessors(e.getClass())) {
+			Processor<CtElement> p = (Processor<CtElement>) dispatched;
+			if (p.isToBeProcessed(e)) {
+				try {
+					p.process(e);
+				} catch (ProcessInterruption interruption) {
+					processors.remove(p);
+					dispatchTable.clear();
+					containment = null;
+				}
+			}
+		}
+	}
+}
@@ -16,12 +16,18 @@
  */
 package spoon.support.visitor;
 
+import spoon.reflect.code.CtBinaryOperator;
+import spoon.reflect.code.CtLiteral;
+import spoon.reflect.code.CtUnaryOperator;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtNamedElement;
+import spoon.reflect.reference.CtReference;
 import spoon.reflect.visitor.CtInheritanceScanner;
 
 /** Responsible for computing CtElement.hashCode().
- * Version that is fast and compatible with EqualVisitor
+ * Version that is fast and compatible with EqualVisitor:
+ * only the properties of the element itself which are compared by
+ * {@link spoon.support.visitor.equals.EqualsChecker} are hashed, the children are not scanned.
  */
 public class HashcodeVisitor extends CtInheritanceScanner {
 
@@ -32,6 +38,38 @@ public class HashcodeVisitor extends CtInheritanceScanner {
 		hashCode += e.getSimpleName().hashCode();
 	}
 
+	@Override
+	public void scanCtReference(CtReference reference) {
+		// otherwise all the references have the same hashcode
+		if (reference.getSimpleName() != null) {
+			hashCode += reference.getSimpleName().hashCode();
+		}
+	}
+
+	@Override
+	public <T> void visitCtLiteral(CtLiteral<T> e) {
+		if (e.getValue() != null) {
+			hashCode += 31 * e.getValue().hashCode();
+		}
+		super.visitCtLiteral(e);
+	}
+
+	@Override
+	public <T> void visitCtBinaryOperator(CtBinaryOperator<T> e) {
+		if (e.getKind() != null) {
+			hashCode += 31 * e.getKind().ordinal();
+		}
+		super.visitCtBinaryOperator(e);
+	}
+
+	@Override
+	public <T> void visitCtUnaryOperator(CtUnaryOperator<T> e) {
+		if (e.getKind() != null) {
+			hashCode += 31 * e.getKind().ordinal();
+		}
+		super.visitCtUnaryOperator(e);
+	}
+
 	@Override
 	public void scan(CtElement element) {
 		hashCode += 1;
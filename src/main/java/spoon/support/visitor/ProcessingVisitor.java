@@ -16,13 +16,16 @@
  */
 package spoon.support.visitor;
 
-import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 
 import spoon.processing.Processor;
 import spoon.processing.TraversalStrategy;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.ContainmentRules;
 import spoon.reflect.visitor.CtScanner;
 
 /**
@@ -34,6 +37,18 @@ public class ProcessingVisitor extends CtScanner {
 
 	Processor<?> processor;
 
+	/**
+	 * Tells if the processor processes the elements of a class, computed once
+	 * per concrete class of element.
+	 */
+	private final Map<Class<?>, Boolean> processedClasses = new HashMap<>();
+
+	/**
+	 * Tells which elements may contain elements processed by the processor,
+	 * the other subtrees are not scanned.
+	 */
+	private ContainmentRules containment;
+
 	/**
 	 * The constructor.
 	 */
@@ -42,10 +57,25 @@ public class ProcessingVisitor extends CtScanner {
 	}
 
 	private boolean canBeProcessed(Processor<?> p, CtElement e) {
-		if (!factory.getEnvironment().isProcessingStopped()
-				&& p.getProcessedElementTypes() != null) {
+		if (factory.getEnvironment().isProcessingStopped()) {
+			return false;
+		}
+		Boolean processed = processedClasses.get(e.getClass());
+		if (processed == null) {
+			processed = isProcessedClass(p, e.getClass());
+			processedClasses.put(e.getClass(), processed);
+		}
+		return processed;
+	}
+
+	/**
+	 * Tells if the processor processes the elements of the given class,
+	 * according to {@link Processor#getProcessedElementTypes()}.
+	 */
+	static boolean isProcessedClass(Processor<?> p, Class<?> elementClass) {
+		if (p.getProcessedElementTypes() != null) {
 			for (Object o : p.getProcessedElementTypes()) {
-				if (((Class<?>) o).isAssignableFrom(e.getClass())) {
+				if (((Class<?>) o).isAssignableFrom(elementClass)) {
 					return true;
 				}
 			}
@@ -59,10 +89,24 @@ public class ProcessingVisitor extends CtScanner {
 
 	@Override
 	public void scan(Collection<? extends CtElement> elements) {
-		if ((elements != null)) {
-			for (CtElement e : new ArrayList<>(elements)) {
-				scan(e);
-			}
+		scanSnapshot(this, elements);
+	}
+
+	/**
+	 * Scans the given elements as they are before processing them, since the
+	 * processors may change the collection. Most of the collections of the
+	 * model are empty or have one element, which are not copied.
+	 */
+	static void scanSnapshot(CtScanner scanner, Collection<? extends CtElement> elements) {
+		if (elements == null || elements.isEmpty()) {
+			return;
+		}
+		if (elements.size() == 1) {
+			scanner.scan(elements.iterator().next());
+			return;
+		}
+		for (CtElement e : elements.toArray(new CtElement[elements.size()])) {
+			scanner.scan(e);
 		}
 	}
 
@@ -85,7 +129,9 @@ public class ProcessingVisitor extends CtScanner {
 				p.process(e);
 			}
 		}
-		super.scan(e);
+		if (getContainment().canContain(e)) {
+			super.scan(e);
+		}
 		if (p.getTraversalStrategy() == TraversalStrategy.POST_ORDER
 				&& canBeProcessed(p, e)) {
 			if (p.isToBeProcessed(e)) {
@@ -94,7 +140,18 @@ public class ProcessingVisitor extends CtScanner {
 		}
 	}
 
+	private ContainmentRules getContainment() {
+		if (containment == null) {
+			Collection<? extends Class<?>> types = processor.getProcessedElementTypes();
+			containment = new ContainmentRules(types == null ? Collections.<Class<?>>emptySet() : types);
+		}
+		return containment;
+	}
+
 	public void setProcessor(Processor<?> processor) {
 		this.processor = processor;
+		// the processed element types are read again, they may have changed in init()
+		processedClasses.clear();
+		containment = null;
 	}
 }
@@ -18,7 +18,9 @@ package spoon.support.visitor.equals;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -28,8 +30,16 @@ import spoon.SpoonException;
 import spoon.reflect.declaration.CtElement;
 import spoon.support.util.EmptyClearableList;
 import spoon.support.util.EmptyClearableSet;
+import spoon.support.util.NameIndexedSortedSet;
+import spoon.support.util.QualifiedNameBasedSortedSet;
+import spoon.support.util.SignatureBasedSortedSet;
 import spoon.support.visitor.clone.CloneVisitor;
 
+/**
+ * Clones the elements and the collections of elements for the generated
+ * {@link CloneVisitor}. The cloned collections are only used to fill the
+ * collections of the cloned element, so the empty ones are not allocated.
+ */
 public final class CloneHelper {
 	public static <T extends CtElement> T clone(T element) {
 		final CloneVisitor cloneVisitor = new CloneVisitor();
@@ -39,9 +49,9 @@ public final class CloneHelper {
 
 	public static <T extends CtElement> Collection<T> clone(Collection<T> elements) {
 		if (elements == null || elements.isEmpty()) {
-			return new ArrayList<>();
+			return EmptyClearableList.instance();
 		}
-		Collection<T> others = new ArrayList<>();
+		Collection<T> others = new ArrayList<>(elements.size());
 		for (T element : elements) {
 			others.add(CloneHelper.clone(element));
 		}
@@ -53,16 +63,35 @@ public final class CloneHelper {
 			return elements;
 		}
 		if (elements == null || elements.isEmpty()) {
-			return new ArrayList<>();
+			return EmptyClearableList.instance();
 		}
-		List<T> others = new ArrayList<>();
+		List<T> others = new ArrayList<>(elements.size());
 		for (T element : elements) {
 			others.add(CloneHelper.clone(element));
 		}
 		return others;
 	}
 
+	/**
+	 * Creates an empty set of the same kind as the given one. The sets of the
+	 * model are created directly: copying a TreeSet copies all its elements
+	 * before clearing them, and shares its comparator, which may cache
+	 * the keys of the elements (see {@link SignatureBasedSortedSet}).
+	 */
+	@SuppressWarnings({ "unchecked", "rawtypes" })
 	private static <T extends CtElement> Set<T> createRightSet(Set<T> elements) {
+		Class<?> setClass = elements.getClass();
+		if (setClass == QualifiedNameBasedSortedSet.class) {
+			return new QualifiedNameBasedSortedSet<>();
+		} else if (setClass == NameIndexedSortedSet.class) {
+			return new NameIndexedSortedSet();
+		} else if (setClass == SignatureBasedSortedSet.class) {
+			return new SignatureBasedSortedSet();
+		} else if (setClass == TreeSet.class) {
+			return new TreeSet<>(((TreeSet<T>) elements).comparator());
+		} else if (setClass == HashSet.class) {
+			return new HashSet<>();
+		}
 		try {
 			if (elements instanceof TreeSet) {
 				// we copy the set, incl its comparator
@@ -95,7 +124,7 @@ public final class CloneHelper {
 
 	public static <T extends CtElement> Map<String, T> clone(Map<String, T> elements) {
 		if (elements == null || elements.isEmpty()) {
-			return new HashMap<>();
+			return Collections.emptyMap();
 		}
 		Map<String, T> others = new HashMap<>();
 		for (Map.Entry<String, T> tEntry : elements.entrySet()) {
@@ -8,13 +8,21 @@ import spoon.reflect.code.CtConditional;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtInterface;
 import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.CtScanner;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.reflect.declaration.CtElementImpl;
+import spoon.support.visitor.equals.CloneHelper;
 
+import java.util.ArrayList;
+import java.util.Set;
 import java.util.stream.Collectors;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 public class CloneTest {
@@ -99,4 +107,44 @@ public class CloneTest {
 		});
 		launcher.run();
 	}
+
+	@Test
+	public void testCloneCollections() throws Exception {
+		// contract: the clone has its own collections, of the same kind as the ones of the original element
+		final Factory factory = new Launcher().getFactory();
+		final CtClass<?> type = factory.Class().create("spoon.test.clone.Sample");
+		type.addSuperInterface(factory.Type().createReference(Runnable.class));
+		type.addSuperInterface(factory.Type().createReference(Cloneable.class));
+		final CtMethod<Void> method = factory.Core().createMethod();
+		method.setSimpleName("run");
+		method.setType(factory.Type().voidPrimitiveType());
+		method.setBody(factory.Core().createBlock());
+		method.addThrownType(factory.Type().createReference(IllegalStateException.class));
+		method.addThrownType(factory.Type().createReference(IllegalArgumentException.class));
+		type.addMethod(method);
+
+		final CtClass<?> clone = type.clone();
+		assertEquals(type, clone);
+		assertEquals(type.getSuperInterfaces().getClass(), clone.getSuperInterfaces().getClass());
+		assertNotSame(type.getSuperInterfaces(), clone.getSuperInterfaces());
+		final CtMethod<?> clonedMethod = clone.getMethod("run");
+		assertEquals(method.getThrownTypes().getClass(), clonedMethod.getThrownTypes().getClass());
+		assertEquals(2, clonedMethod.getThrownTypes().size());
+		clonedMethod.getThrownTypes().clear();
+		assertEquals(2, method.getThrownTypes().size());
+
+		// the sorted sets get a new comparator
+		final Set<CtMethod<?>> methods = type.getMethods();
+		final Set<CtMethod<?>> clonedMethods = CloneHelper.clone(methods);
+		assertEquals(methods.getClass(), clonedMethods.getClass());
+		assertEquals(1, clonedMethods.size());
+		clonedMethods.clear();
+		assertTrue(methods.contains(method));
+
+		// the empty collections are not allocated
+		assertSame(CtElementImpl.emptyList(), CloneHelper.clone(new ArrayList<CtMethod<?>>()));
+		assertTrue(clonedMethod.getBody().getStatements().isEmpty());
+		clonedMethod.getBody().insertBegin(factory.Code().createCodeSnippetStatement("int i = 0"));
+		assertTrue(method.getBody().getStatements().isEmpty());
+	}
 }
@@ -2,6 +2,7 @@ package spoon.test.comment;
 
 import org.junit.Test;
 import spoon.Launcher;
+import spoon.compiler.SpoonCompiler;
 import spoon.reflect.code.CtComment;
 import spoon.reflect.code.CtConditional;
 import spoon.reflect.code.CtConstructorCall;
@@ -24,6 +25,7 @@ import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtParameter;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.compiler.VirtualFile;
 import spoon.test.comment.testclasses.BlockComment;
 import spoon.test.comment.testclasses.InlineComment;
 
@@ -472,4 +474,34 @@ public class CommentTest {
 		assertEquals("// comment", comment.toString());
 		assertEquals(CtComment.CommentType.INLINE, comment.getCommentType());
 	}
+
+	@Test
+	public void testManyComments() {
+		// contract: each comment of a heavily commented type goes to its own member
+		StringBuilder content = new StringBuilder("class Dto {" + newLine);
+		for (int i = 0; i < 500; i++) {
+			content.append("/** field " + i + " */" + newLine);
+			content.append("private int f" + i + ";" + newLine);
+			content.append("public int getF" + i + "() {" + newLine);
+			content.append("// getter " + i + newLine);
+			content.append("return f" + i + ";" + newLine);
+			content.append("}" + newLine);
+		}
+		content.append("}");
+
+		Launcher launcher = new Launcher();
+		launcher.getEnvironment().setCommentEnabled(true);
+		SpoonCompiler compiler = launcher.createCompiler();
+		compiler.addInputSource(new VirtualFile(content.toString(), "Dto.java"));
+		compiler.build();
+
+		CtClass<?> type = (CtClass<?>) compiler.getFactory().Type().get("Dto");
+		for (int i = 0; i < 500; i++) {
+			CtField<?> field = type.getField("f" + i);
+			assertEquals(1, field.getComments().size());
+			assertEquals("field " + i, field.getComments().get(0).getContent());
+			CtMethod<?> getter = type.getMethodsByName("getF" + i).get(0);
+			assertEquals("getter " + i, getter.getBody().getStatement(0).getComments().get(0).getContent());
+		}
+	}
 }
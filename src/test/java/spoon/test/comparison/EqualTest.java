@@ -12,6 +12,7 @@ import spoon.reflect.factory.Factory;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.fail;
 
 public class EqualTest {
@@ -61,5 +62,15 @@ public class EqualTest {
 
 	}
 
+	@Test
+	public void testHashcodeOfReferencesAndLiterals() throws Exception {
+		// contract: equal elements have the same hashcode, and references or literals which differ by their name or value are spread
+		Factory factory = new Launcher().createFactory();
 
+		assertEquals(factory.Type().createReference(String.class).hashCode(), factory.Type().createReference(String.class).hashCode());
+		assertNotEquals(factory.Type().createReference(String.class).hashCode(), factory.Type().createReference(Integer.class).hashCode());
+
+		assertEquals(factory.Code().createLiteral(1).hashCode(), factory.Code().createLiteral(1).hashCode());
+		assertNotEquals(factory.Code().createLiteral(1).hashCode(), factory.Code().createLiteral(2).hashCode());
+	}
 }
@@ -1,6 +1,9 @@
 package spoon.test.compilation;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
@@ -8,6 +11,8 @@ import java.lang.reflect.Method;
 import java.net.URL;
 import java.net.URLClassLoader;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
@@ -16,9 +21,11 @@ import org.junit.Test;
 
 import spoon.Launcher;
 import spoon.compiler.SpoonCompiler;
+import spoon.compiler.SpoonFile;
 import spoon.reflect.code.BinaryOperatorKind;
 import spoon.reflect.code.CtBinaryOperator;
 import spoon.reflect.code.CtBlock;
+import spoon.reflect.code.CtInvocation;
 import spoon.reflect.code.CtReturn;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtMethod;
@@ -27,7 +34,9 @@ import spoon.reflect.declaration.ModifierKind;
 import spoon.reflect.factory.CodeFactory;
 import spoon.reflect.factory.CoreFactory;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.reference.CtReference;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.compiler.VirtualFile;
 import spoon.support.compiler.jdt.FileCompiler;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 
@@ -201,4 +210,137 @@ public class CompilationTest {
 
 	}
 
+	@Test
+	public void testParallelModelBuilding() throws Exception {
+		// contract: building the model on several threads gives the same model as the sequential build
+		Launcher sequential = new Launcher();
+		sequential.addInputResource("./src/main/java/spoon/reflect/declaration");
+		sequential.getEnvironment().setNoClasspath(true);
+		sequential.buildModel();
+
+		Launcher parallel = new Launcher();
+		parallel.setArgs(new String[] { "--model-building-threads", "4" });
+		parallel.addInputResource("./src/main/java/spoon/reflect/declaration");
+		parallel.getEnvironment().setNoClasspath(true);
+		assertEquals(4, parallel.getEnvironment().getModelBuildingThreads());
+		parallel.buildModel();
+
+		List<CtType<?>> expectedTypes = new ArrayList<>(sequential.getFactory().getModel().getAllTypes());
+		List<CtType<?>> actualTypes = new ArrayList<>(parallel.getFactory().getModel().getAllTypes());
+		assertEquals(expectedTypes.size(), actualTypes.size());
+		for (int i = 0; i < expectedTypes.size(); i++) {
+			assertEquals(expectedTypes.get(i).getQualifiedName(), actualTypes.get(i).getQualifiedName());
+			assertEquals(expectedTypes.get(i).toString(), actualTypes.get(i).toString());
+		}
+	}
+
+	@Test
+	public void testParallelModelBuildingWithBinaryTypes() throws Exception {
+		// contract: the bindings lazily resolved from the classpath (binary, generic and member types)
+		// give the same model whatever the number of threads
+		final String[] inputs = { "./src/main/java/spoon/reflect/visitor", "./src/main/java/spoon/reflect/factory", "./src/main/java/spoon/support/compiler/jdt" };
+		Launcher sequential = new Launcher();
+		for (String input : inputs) {
+			sequential.addInputResource(input);
+		}
+		sequential.buildModel();
+
+		Launcher parallel = new Launcher();
+		for (String input : inputs) {
+			parallel.addInputResource(input);
+		}
+		parallel.getEnvironment().setModelBuildingThreads(8);
+		parallel.buildModel();
+
+		List<CtType<?>> expectedTypes = new ArrayList<>(sequential.getFactory().getModel().getAllTypes());
+		List<CtType<?>> actualTypes = new ArrayList<>(parallel.getFactory().getModel().getAllTypes());
+		assertEquals(expectedTypes.size(), actualTypes.size());
+		for (int i = 0; i < expectedTypes.size(); i++) {
+			assertEquals(expectedTypes.get(i).getQualifiedName(), actualTypes.get(i).getQualifiedName());
+			assertEquals(expectedTypes.get(i).toString(), actualTypes.get(i).toString());
+			assertEquals(expectedTypes.get(i).getElements(new TypeFilter<CtReference>(CtReference.class)).size(), actualTypes.get(i).getElements(new TypeFilter<CtReference>(CtReference.class)).size());
+		}
+	}
+
+	@Test
+	public void testBuildChanges() throws Exception {
+		// contract: an incremental build replaces the types of the changed files, builds again
+		// the files which depend on them, and keeps the other types of the model
+		Launcher launcher = new Launcher();
+		JDTBasedSpoonCompiler compiler = (JDTBasedSpoonCompiler) launcher.createCompiler();
+		compiler.addInputSource(new VirtualFile("class A { B b; Object m() { return b.n(); } }", "A.java"));
+		compiler.addInputSource(new VirtualFile("class B { int n() { return 0; } }", "B.java"));
+		VirtualFile c = new VirtualFile("class C { }", "C.java");
+		compiler.addInputSource(c);
+		assertTrue(compiler.build());
+
+		Factory factory = compiler.getFactory();
+		CtType<?> typeC = factory.Type().get("C");
+		CtInvocation<?> invocation = factory.Type().get("A").getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class)).get(0);
+		assertEquals("int", invocation.getType().getQualifiedName());
+
+		assertTrue(compiler.buildChanges(Arrays.<SpoonFile>asList(new VirtualFile("class B { long n() { return 0; } }", "B.java")), Collections.<SpoonFile>emptyList()));
+		assertEquals("long", factory.Type().get("B").getMethodsByName("n").get(0).getType().getQualifiedName());
+		invocation = factory.Type().get("A").getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class)).get(0);
+		assertEquals("long", invocation.getType().getQualifiedName());
+		assertSame(typeC, factory.Type().get("C"));
+		assertEquals(3, factory.getModel().getAllTypes().size());
+
+		assertTrue(compiler.buildChanges(Collections.<SpoonFile>emptyList(), Arrays.<SpoonFile>asList(c)));
+		assertNull(factory.Type().get("C"));
+		assertEquals(2, factory.getModel().getAllTypes().size());
+		assertEquals(2, factory.CompilationUnit().getMap().size());
+	}
+
+	@Test
+	public void testBuildChangesFixingAnError() throws Exception {
+		// contract: the problems of a file are forgotten when it is built again, so fixing it gives a model without problems
+		Launcher launcher = new Launcher();
+		launcher.getEnvironment().setNoClasspath(true);
+		JDTBasedSpoonCompiler compiler = (JDTBasedSpoonCompiler) launcher.createCompiler();
+		compiler.addInputSource(new VirtualFile("class A { int m() { return new B().n(); } }", "A.java"));
+		compiler.addInputSource(new VirtualFile("class B { int n() { return 0; } }", "B.java"));
+		assertTrue(compiler.build());
+
+		assertFalse(compiler.buildChanges(Arrays.<SpoonFile>asList(new VirtualFile("class B { int n() { return \"0\"; } }", "B.java")), Collections.<SpoonFile>emptyList()));
+		assertFalse(compiler.getProblems().isEmpty());
+
+		assertTrue(compiler.buildChanges(Arrays.<SpoonFile>asList(new VirtualFile("class B { int n() { return 1; } }", "B.java")), Collections.<SpoonFile>emptyList()));
+		assertTrue(compiler.getProblems().isEmpty());
+	}
+
+	@Test
+	public void testBuildChangesKeepsTheProblemsOfTheUnchangedFiles() throws Exception {
+		// contract: the problems of an unchanged file read by JDT during an incremental build are not added again
+		Launcher launcher = new Launcher();
+		launcher.getEnvironment().setNoClasspath(true);
+		JDTBasedSpoonCompiler compiler = (JDTBasedSpoonCompiler) launcher.createCompiler();
+		compiler.addInputSource(new VirtualFile("class A { B b; int m() { return 0; } }", "A.java"));
+		compiler.addInputSource(new VirtualFile("class B { int n() { return \"0\"; } }", "B.java"));
+		assertFalse(compiler.build());
+		assertEquals(1, compiler.getProblems().size());
+
+		assertFalse(compiler.buildChanges(Arrays.<SpoonFile>asList(new VirtualFile("class A { B b; int m() { return 1; } }", "A.java")), Collections.<SpoonFile>emptyList()));
+		assertEquals(1, compiler.getProblems().size());
+		assertEquals("B.java", new String(compiler.getProblems().get(0).getOriginatingFileName()));
+	}
+
+	@Test
+	public void testBuildChangesOfAnIndirectSuperType() throws Exception {
+		// contract: the indirect sub types of a changed type are built again, since their inherited members change
+		Launcher launcher = new Launcher();
+		JDTBasedSpoonCompiler compiler = (JDTBasedSpoonCompiler) launcher.createCompiler();
+		compiler.addInputSource(new VirtualFile("class A { }", "A.java"));
+		compiler.addInputSource(new VirtualFile("class B extends A { void m(long l) { } }", "B.java"));
+		compiler.addInputSource(new VirtualFile("class C extends B { void n() { m(1); } }", "C.java"));
+		assertTrue(compiler.build());
+
+		Factory factory = compiler.getFactory();
+		CtInvocation<?> invocation = factory.Type().get("C").getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class)).get(0);
+		assertEquals("B", invocation.getExecutable().getDeclaringType().getQualifiedName());
+
+		assertTrue(compiler.buildChanges(Arrays.<SpoonFile>asList(new VirtualFile("class A { void m(int i) { } }", "A.java")), Collections.<SpoonFile>emptyList()));
+		invocation = factory.Type().get("C").getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class)).get(0);
+		assertEquals("A", invocation.getExecutable().getDeclaringType().getQualifiedName());
+	}
 }
@@ -3,14 +3,18 @@ package spoon.test.factory;
 import org.junit.Test;
 import spoon.Launcher;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.TypeFactory;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.test.factory.testclasses3.Cooking;
 import spoon.test.factory.testclasses3.Prepare;
+import spoon.support.util.ShadowTypeCache;
 import spoon.testing.utils.ModelUtils;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 
 public class TypeFactoryTest {
 
@@ -55,4 +59,34 @@ public class TypeFactoryTest {
 		assertNotNull(prepare.getFactory().Type().get(Prepare.Pozole.class));
 		assertNotNull(prepare.getFactory().Interface().get(Prepare.Pozole.class));
 	}
+
+	@Test
+	public void testShadowTypeCache() throws Exception {
+		// contract: the shadow types built from the reflection are cached, and the cache is bounded
+		TypeFactory typeFactory = new TypeFactory();
+		typeFactory.setShadowTypeCache(new ShadowTypeCache(1, false));
+
+		CtType<?> string = typeFactory.get(String.class);
+		assertSame(string, typeFactory.get(String.class));
+		assertEquals(1, typeFactory.getShadowTypeCache().getHitCount());
+		assertEquals(1, typeFactory.getShadowTypeCache().getMissCount());
+
+		// the cache only holds one type, String is evicted
+		typeFactory.get(Integer.class);
+		assertEquals(1, typeFactory.getShadowTypeCache().size());
+		assertEquals(1, typeFactory.getShadowTypeCache().getEvictionCount());
+		assertNotSame(string, typeFactory.get(String.class));
+	}
+
+	@Test
+	public void testShadowTypeCacheIsSharedBySubFactories() throws Exception {
+		// contract: the sub-factories of the types of a factory share the same cache of shadow types
+		Factory factory = new Launcher().createFactory();
+		assertSame(factory.Type().getShadowTypeCache(), factory.Class().getShadowTypeCache());
+		assertSame(factory.Type().getShadowTypeCache(), factory.Interface().getShadowTypeCache());
+
+		CtType<?> string = factory.Type().get(String.class);
+		assertSame(string, factory.Class().get(String.class));
+		assertEquals(1, factory.Type().getShadowTypeCache().size());
+	}
 }
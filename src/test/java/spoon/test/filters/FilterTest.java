@@ -1,6 +1,7 @@
 package spoon.test.filters;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
@@ -16,6 +17,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import spoon.Launcher;
+import spoon.reflect.CtModel;
 import spoon.reflect.code.CtCFlowBreak;
 import spoon.reflect.code.CtExpression;
 import spoon.reflect.code.CtFieldAccess;
@@ -32,11 +34,15 @@ import spoon.reflect.declaration.CtField;
 import spoon.reflect.declaration.CtInterface;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtNamedElement;
+import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.declaration.CtVariable;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.reference.CtExecutableReference;
 import spoon.reflect.reference.CtFieldReference;
+import spoon.reflect.visitor.ContainmentRules;
+import spoon.reflect.visitor.ElementIndex;
+import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.AnnotationFilter;
 import spoon.reflect.visitor.filter.CompositeFilter;
@@ -52,6 +58,8 @@ import spoon.reflect.visitor.filter.ReturnOrThrowFilter;
 import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.comparator.DeepRepresentationComparator;
 import spoon.support.reflect.declaration.CtMethodImpl;
+import spoon.support.reflect.reference.CtTypeReferenceImpl;
+import spoon.support.util.TypeHierarchyCache;
 import spoon.test.filters.testclasses.AbstractTostada;
 import spoon.test.filters.testclasses.Antojito;
 import spoon.test.filters.testclasses.FieldAccessFilterTacos;
@@ -423,4 +431,100 @@ public class FilterTest {
 		assertNotNull(declaration);
 		assertEquals("size", declaration.getSimpleName());
 	}
+
+	@Test
+	public void testTypeHierarchyCache() throws Exception {
+		// contract: the answers of the cache are the ones of isSubtypeOf and isAssignableFrom, also for anonymous classes
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+
+		final TypeHierarchyCache typeHierarchy = new TypeHierarchyCache();
+		final List<CtType<?>> types = Query.getElements(launcher.getFactory(), new TypeFilter<CtType<?>>(CtType.class));
+		for (int i = 0; i < 2; i++) {
+			for (CtType<?> subType : types) {
+				for (CtType<?> superType : types) {
+					assertEquals(superType.isAssignableFrom(subType.getReference()), typeHierarchy.isAssignableFrom(superType, subType.getReference()));
+					assertEquals(subType.getReference().isSubtypeOf(superType.getReference()), typeHierarchy.isSubtypeOf(subType.getReference(), superType.getReference()));
+				}
+			}
+		}
+
+		final CtClass<AbstractTostada> aClass = launcher.getFactory().Class().get(AbstractTostada.class);
+		final CtClass<Tostada> aTostada = launcher.getFactory().Class().get(Tostada.class);
+		assertTrue(typeHierarchy.isSubtypeOf(aTostada.getReference(), aClass.getReference()));
+		assertFalse(typeHierarchy.isSubtypeOf(aClass.getReference(), aTostada.getReference()));
+		assertTrue(typeHierarchy.isOverriding(aTostada.getMethodsByName("prepare").get(0).getReference(), aClass.getMethodsByName("prepare").get(0).getReference()));
+	}
+
+	@Test
+	public void testElementIndex() throws Exception {
+		// contract: querying an ElementIndex gives the same elements, in the same order, as scanning the model
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		final CtPackage rootPackage = launcher.getFactory().Package().getRootPackage();
+
+		final ElementIndex index = new ElementIndex(rootPackage);
+		assertEquals(Query.getElements(rootPackage, new TypeFilter<CtElement>(CtElement.class)).size(), index.size());
+		assertEquals(Query.getElements(rootPackage, new TypeFilter<CtInvocation<?>>(CtInvocation.class)), index.getElements(new TypeFilter<CtInvocation<?>>(CtInvocation.class)));
+		assertEquals(Query.getElements(rootPackage, new TypeFilter<CtStatement>(CtStatement.class)), index.getElements(new TypeFilter<CtStatement>(CtStatement.class)));
+		assertEquals(Query.getElements(rootPackage, new TypeFilter<CtType<?>>(CtType.class)), index.getElements(new TypeFilter<CtType<?>>(CtType.class)));
+		assertEquals(Query.getElements(rootPackage, new NameFilter<CtMethod<?>>("prepare")), index.getElements(new NameFilter<CtMethod<?>>("prepare")));
+		final Filter<CtMethod<?>> notAbstractFilter = new Filter<CtMethod<?>>() {
+			@Override
+			public boolean matches(CtMethod<?> element) {
+				return element.getBody() != null;
+			}
+		};
+		assertEquals(Query.getElements(rootPackage, notAbstractFilter), index.getElements(notAbstractFilter));
+	}
+
+	@Test
+	public void testModelElementIndex() throws Exception {
+		// contract: the queries of a model use its element index until it is cleared
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		final Factory factory = launcher.getFactory();
+		final CtModel model = factory.getModel();
+		final List<CtMethod<?>> methods = model.getElements(new TypeFilter<CtMethod<?>>(CtMethod.class));
+
+		model.buildElementIndex();
+		assertEquals(methods, model.getElements(new TypeFilter<CtMethod<?>>(CtMethod.class)));
+		assertEquals(methods, Query.getElements(factory, new TypeFilter<CtMethod<?>>(CtMethod.class)));
+
+		// the index is a snapshot of the model
+		final CtMethod<?> method = methods.get(0).clone();
+		method.setSimpleName("added");
+		methods.get(0).getDeclaringType().addMethod(method);
+		assertEquals(methods.size(), model.getElements(new TypeFilter<CtMethod<?>>(CtMethod.class)).size());
+
+		model.clearElementIndex();
+		assertEquals(methods.size() + 1, model.getElements(new TypeFilter<CtMethod<?>>(CtMethod.class)).size());
+	}
+
+	@Test
+	public void testQueryPrunesTheSubtreesWithoutFilteredElements() throws Exception {
+		// contract: the query skips the references when looking for declarations or statements, and finds the same elements as a full scan
+		assertFalse(ContainmentRules.canContain(CtTypeReferenceImpl.class, CtField.class));
+		assertFalse(ContainmentRules.canContain(CtTypeReferenceImpl.class, CtLoop.class));
+		assertTrue(ContainmentRules.canContain(CtTypeReferenceImpl.class, CtExpression.class));
+		assertTrue(ContainmentRules.canContain(CtTypeReferenceImpl.class, CtStatement.class));
+		assertTrue(ContainmentRules.canContain(CtTypeReferenceImpl.class, CtElement.class));
+		assertTrue(ContainmentRules.canContain(CtMethodImpl.class, CtField.class));
+		assertFalse(ContainmentRules.canContain(CtMethodImpl.class, CtPackage.class));
+
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		final CtPackage rootPackage = launcher.getFactory().Package().getRootPackage();
+
+		final ElementIndex index = new ElementIndex(rootPackage);
+		assertEquals(index.getElements(new TypeFilter<CtField<?>>(CtField.class)), Query.getElements(rootPackage, new TypeFilter<CtField<?>>(CtField.class)));
+		assertEquals(index.getElements(new TypeFilter<CtMethod<?>>(CtMethod.class)), Query.getElements(rootPackage, new TypeFilter<CtMethod<?>>(CtMethod.class)));
+		assertEquals(index.getElements(new TypeFilter<CtVariable<?>>(CtVariable.class)), Query.getElements(rootPackage, new TypeFilter<CtVariable<?>>(CtVariable.class)));
+		assertEquals(index.getElements(new TypeFilter<CtPackage>(CtPackage.class)), Query.getElements(rootPackage, new TypeFilter<CtPackage>(CtPackage.class)));
+		assertEquals(index.getElements(new TypeFilter<CtNewClass<?>>(CtNewClass.class)), Query.getElements(rootPackage, new TypeFilter<CtNewClass<?>>(CtNewClass.class)));
+	}
 }
@@ -6,6 +6,7 @@ import spoon.compiler.SpoonCompiler;
 import spoon.compiler.SpoonResourceHelper;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.declaration.ModifierKind;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.ImportScanner;
@@ -15,9 +16,11 @@ import spoon.reflect.visitor.filter.NameFilter;
 
 import java.security.AccessControlException;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 import static spoon.testing.utils.ModelUtils.build;
 
@@ -62,4 +65,22 @@ public class ImportScannerTest {
 		assertTrue( importScanner.isImported( factory.Type().createReference( ArithmeticException.class ) ));
 		assertTrue( importScanner.isImported( factory.Type().createReference( AccessControlException.class ) ));
 	}
+
+	@Test
+	public void testNamesClashingWithJavaLang() throws Exception {
+		// contract: the types named as a type of java.lang are not imported
+		Factory factory = new Launcher().createFactory();
+		CtClass<?> aClass = factory.Class().create("foo.Bar");
+		factory.Field().create(aClass, Collections.<ModifierKind>emptySet(), factory.Type().createReference("com.mycompany.String"), "string");
+		factory.Field().create(aClass, Collections.<ModifierKind>emptySet(), factory.Type().createReference("com.mycompany.FunctionalInterface"), "functionalInterface");
+		factory.Field().create(aClass, Collections.<ModifierKind>emptySet(), factory.Type().createReference("com.mycompany.Module"), "module");
+		factory.Field().create(aClass, Collections.<ModifierKind>emptySet(), factory.Type().createReference("com.mycompany.Strings"), "strings");
+
+		ImportScanner importScanner = new ImportScannerImpl();
+		importScanner.computeImports(aClass);
+		assertFalse(importScanner.isImported(factory.Type().createReference("com.mycompany.String")));
+		assertFalse(importScanner.isImported(factory.Type().createReference("com.mycompany.FunctionalInterface")));
+		assertFalse(importScanner.isImported(factory.Type().createReference("com.mycompany.Module")));
+		assertTrue(importScanner.isImported(factory.Type().createReference("com.mycompany.Strings")));
+	}
 }
@@ -6,17 +6,22 @@ import spoon.Launcher;
 import spoon.OutputType;
 import spoon.compiler.SpoonCompiler;
 import spoon.compiler.SpoonResourceHelper;
+import spoon.reflect.CtModel;
 import spoon.reflect.code.CtComment;
 import spoon.reflect.declaration.CtAnnotation;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.test.pkg.name.PackageTestClass;
 import spoon.testing.utils.ModelUtils;
 
 import java.io.File;
+import java.util.ArrayList;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static spoon.testing.Assert.assertThat;
@@ -101,4 +106,43 @@ public class PackageTest {
 
 		assertThat(aPackage).isEqualTo(ModelUtils.build(new File("./target/spooned/package/spoon/test/pkg/testclasses/internal")).Package().get("spoon.test.pkg.testclasses.internal"));
 	}
+
+	@Test
+	public void testTypeAndPackageLookupByName() throws Exception {
+		// contract: the lookups by name of types and packages stay consistent with additions, removals and renamings
+		final Factory factory = new Launcher().createFactory();
+		final CtPackage aPackage = factory.Package().getOrCreate("spoon.test.lookup");
+		assertSame(aPackage, factory.Package().get("spoon.test.lookup"));
+		assertSame(aPackage, factory.Package().getOrCreate("spoon.test.lookup"));
+
+		final CtClass<?> aClass = factory.Class().create(aPackage, "Foo");
+		assertSame(aClass, factory.Type().get("spoon.test.lookup.Foo"));
+
+		aClass.setSimpleName("Bar");
+		assertNull(factory.Type().get("spoon.test.lookup.Foo"));
+		assertSame(aClass, factory.Type().get("spoon.test.lookup.Bar"));
+
+		aPackage.getTypes().remove(aClass);
+		assertNull(factory.Type().get("spoon.test.lookup.Bar"));
+
+		aPackage.getTypes().add(aClass);
+		assertSame(aClass, factory.Type().get("spoon.test.lookup.Bar"));
+
+		aPackage.setSimpleName("renamed");
+		assertNull(factory.Package().get("spoon.test.lookup"));
+		assertSame(aPackage, factory.Package().get("spoon.test.renamed"));
+	}
+
+	@Test
+	public void testGetAllPackages() throws Exception {
+		// contract: getAllPackages returns the same packages as a scan of the whole model, in the same order
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/pkg");
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
+
+		final CtModel model = launcher.getModel();
+		assertEquals(model.getRootPackage().getElements(new TypeFilter<>(CtPackage.class)), new ArrayList<>(model.getAllPackages()));
+		assertSame(model.getRootPackage(), model.getAllPackages().iterator().next());
+	}
 }
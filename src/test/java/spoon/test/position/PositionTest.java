@@ -1,18 +1,24 @@
 package spoon.test.position;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static spoon.testing.utils.ModelUtils.build;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 import java.nio.file.Paths;
 
 import org.junit.Test;
 
+import spoon.Launcher;
 import spoon.reflect.code.CtAssignment;
 import spoon.reflect.code.CtBlock;
 import spoon.reflect.code.CtExpression;
@@ -22,6 +28,7 @@ import spoon.reflect.cu.SourcePosition;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
+import spoon.support.reflect.cu.SourcePositionImpl;
 import spoon.test.position.testclasses.FooClazz;
 import spoon.test.position.testclasses.FooClazz2;
 import spoon.test.position.testclasses.FooField;
@@ -297,4 +304,50 @@ public class PositionTest {
 		assertTrue(s.hashCode() > 0); // no NPE
 	}
 
+	@Test
+	public void testNoPositionIsShared() throws Exception {
+		// contract: the elements which are not in a source file share the same position
+		Factory factory = new spoon.Launcher().getFactory();
+		SourcePosition position = factory.Core().createClass().getPosition();
+		assertSame(position, factory.Core().createMethod().getPosition());
+		assertSame(SourcePositionImpl.NOPOSITION, position);
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(position);
+		}
+		try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+			assertSame(SourcePositionImpl.NOPOSITION, in.readObject());
+		}
+	}
+
+	@Test
+	public void testColumnsWithTabulations() throws Exception {
+		// contract: the columns are 1 indexed on all the lines, and a tabulation counts as the tabulation size
+		File directory = Files.createTempDirectory("columns").toFile();
+		File source = new File(directory, "Tabs.java");
+		String content = "class Tabs { int a;\n\tint field;\n\t\tint b; }";
+		Files.write(source.toPath(), content.getBytes(Charset.forName("UTF-8")));
+
+		Launcher launcher = new Launcher();
+		launcher.addInputResource(source.getPath());
+		launcher.buildModel();
+		CtType<?> type = launcher.getFactory().Type().get("Tabs");
+		int[] lines = { 1, 2, 3 };
+		String[] names = { "a", "field", "b" };
+		for (int i = 0; i < names.length; i++) {
+			SourcePosition position = type.getField(names[i]).getPosition();
+			assertEquals(lines[i], position.getLine());
+			assertEquals(expectedColumn(content, position.getNameSourceStart(), 4), position.getColumn());
+			assertEquals(expectedColumn(content, position.getSourceEnd(), 4), position.getEndColumn());
+		}
+	}
+
+	private int expectedColumn(String content, int position, int tabulationSize) {
+		int column = 1;
+		for (int i = content.lastIndexOf('\n', position - 1) + 1; i < position; i++) {
+			column += content.charAt(i) == '\t' ? tabulationSize : 1;
+		}
+		return column;
+	}
 }
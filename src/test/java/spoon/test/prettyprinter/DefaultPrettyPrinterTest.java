@@ -285,4 +285,74 @@ public class DefaultPrettyPrinterTest {
 		));
 		assertTrue(printer.getResult().contains("import java.util.ArrayList;"));
 	}
+
+	@Test
+	public void testParallelOutputWriting() throws Exception {
+		// contract: printing the types concurrently writes the same files as printing them one by one
+		final Launcher sequential = new Launcher();
+		sequential.run(new String[] {
+				"-i", "./src/test/java/spoon/test/prettyprinter/testclasses", "-o", "./target/spooned/sequential-output", "--noclasspath"
+		});
+		final Launcher parallel = new Launcher();
+		parallel.run(new String[] {
+				"-i", "./src/test/java/spoon/test/prettyprinter/testclasses", "-o", "./target/spooned/parallel-output", "--noclasspath",
+				"--output-writing-threads", "4"
+		});
+		assertEquals(4, parallel.getEnvironment().getOutputWritingThreads());
+
+		List<File> sequentialFiles = ((JavaOutputProcessor) sequential.getEnvironment().getDefaultFileGenerator()).getCreatedFiles();
+		List<File> parallelFiles = ((JavaOutputProcessor) parallel.getEnvironment().getDefaultFileGenerator()).getCreatedFiles();
+		assertEquals(sequentialFiles.size(), parallelFiles.size());
+		for (int i = 0; i < sequentialFiles.size(); i++) {
+			assertEquals(sequentialFiles.get(i).getName(), parallelFiles.get(i).getName());
+			assertEquals(IOUtils.toString(new FileInputStream(sequentialFiles.get(i)), "UTF-8"),
+					IOUtils.toString(new FileInputStream(parallelFiles.get(i)), "UTF-8"));
+		}
+	}
+
+	@Test
+	public void testSkipUnchangedFiles() throws Exception {
+		// contract: the files printed again with the same content are not written again
+		final String[] args = {
+				"-i", "./src/test/java/spoon/test/prettyprinter/testclasses", "-o", "./target/spooned/unchanged-output", "--noclasspath",
+				"--skip-unchanged-files"
+		};
+		final Launcher first = new Launcher();
+		first.run(args);
+		JavaOutputProcessor firstProcessor = (JavaOutputProcessor) first.getEnvironment().getDefaultFileGenerator();
+		assertTrue(firstProcessor.getCreatedFiles().size() > 0);
+		assertEquals(firstProcessor.getCreatedFiles().size(), firstProcessor.getWrittenFileCount() + firstProcessor.getSkippedFileCount());
+
+		final Launcher second = new Launcher();
+		second.run(args);
+		JavaOutputProcessor secondProcessor = (JavaOutputProcessor) second.getEnvironment().getDefaultFileGenerator();
+		assertEquals(0, secondProcessor.getWrittenFileCount());
+		assertEquals(secondProcessor.getCreatedFiles().size(), secondProcessor.getSkippedFileCount());
+	}
+
+	@Test
+	public void testStreamedPrinting() throws Exception {
+		// contract: streaming a large class prints the same code and line mapping as printing it in memory
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/main/java/spoon/reflect/visitor/DefaultJavaPrettyPrinter.java");
+		launcher.getEnvironment().setNoClasspath(true);
+		launcher.buildModel();
+		CtType<?> type = launcher.getFactory().Type().get(DefaultJavaPrettyPrinter.class);
+		List<CtType<?>> types = new ArrayList<>();
+		types.add(type);
+
+		for (boolean preserveLineNumbers : new boolean[] { false, true }) {
+			launcher.getEnvironment().setPreserveLineNumbers(preserveLineNumbers);
+			DefaultJavaPrettyPrinter inMemory = new DefaultJavaPrettyPrinter(launcher.getEnvironment());
+			inMemory.calculate(type.getPosition().getCompilationUnit(), types);
+
+			DefaultJavaPrettyPrinter streamed = new DefaultJavaPrettyPrinter(launcher.getEnvironment());
+			StringBuilder output = new StringBuilder();
+			streamed.calculate(type.getPosition().getCompilationUnit(), types, output);
+
+			assertEquals(inMemory.getResult(), output.toString());
+			assertEquals("", streamed.getResult());
+			assertEquals(inMemory.getLineNumberMapping(), streamed.getLineNumberMapping());
+		}
+	}
 }
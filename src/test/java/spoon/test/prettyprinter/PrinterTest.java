@@ -8,6 +8,7 @@ import org.junit.Test;
 import spoon.Launcher;
 import spoon.compiler.SpoonResourceHelper;
 import spoon.reflect.declaration.CtType;
+import spoon.reflect.visitor.DefaultJavaPrettyPrinter;
 import spoon.reflect.factory.Factory;
 
 public class PrinterTest {
@@ -38,4 +39,25 @@ public class PrinterTest {
 
 	}
 
+	@Test
+	public void testToStringReusesPrinter() throws Exception {
+		// contract: the printer reused by toString() gives the same result as a new printer
+		for (CtType<?> t : factory.Type().getAll()) {
+			DefaultJavaPrettyPrinter printer = new DefaultJavaPrettyPrinter(factory.getEnvironment());
+			printer.computeImports(t);
+			printer.scan(t);
+			String expected = printer.toString();
+			assertEquals(expected, t.toString());
+			assertEquals(expected, t.toString());
+		}
+
+		// the imports computed for a previous element are not kept
+		CtType<?> validation = factory.Type().get("spoon.test.prettyprinter.Validation");
+		String withoutImports = validation.toString();
+		factory.getEnvironment().setAutoImports(true);
+		validation.toString();
+		factory.getEnvironment().setAutoImports(false);
+		assertEquals(withoutImports, validation.toString());
+	}
+
 }
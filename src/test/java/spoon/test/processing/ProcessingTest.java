@@ -5,18 +5,31 @@ import org.junit.Test;
 import spoon.Launcher;
 import spoon.SpoonException;
 import spoon.processing.AbstractProcessor;
+import spoon.processing.ProcessingBarrier;
+import spoon.processing.ProcessingManager;
+import spoon.processing.TypeLocalProcessor;
 import spoon.reflect.code.CtSwitch;
 import spoon.reflect.declaration.CtClass;
 import spoon.reflect.declaration.CtConstructor;
 import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtMethod;
+import spoon.reflect.factory.Factory;
+import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.TypeFilter;
+import spoon.support.ParallelProcessingManager;
+import spoon.support.QueueProcessingManager;
 import spoon.support.compiler.jdt.JDTBasedSpoonCompiler;
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static spoon.testing.utils.ModelUtils.build;
@@ -141,4 +154,193 @@ public class ProcessingTest {
 			assertTrue(e.getCause() instanceof java.lang.InstantiationException);// we are able to retrieve the exception parent
 		}
 	}
+
+	//toy processors for the next test
+	static class TraceProcessor extends AbstractProcessor<CtMethod<?>> {
+		final String name;
+		final List<String> trace;
+
+		TraceProcessor(String name, List<String> trace) {
+			this.name = name;
+			this.trace = trace;
+		}
+
+		@Override
+		public void process(CtMethod<?> element) {
+			trace.add(name + ":" + element.getSimpleName());
+		}
+	}
+
+	static class TraceBarrierProcessor extends TraceProcessor implements ProcessingBarrier {
+		TraceBarrierProcessor(String name, List<String> trace) {
+			super(name, trace);
+		}
+	}
+
+	private List<String> processTrace(Factory factory, boolean fused) {
+		List<String> trace = new ArrayList<>();
+		factory.getEnvironment().setFusedProcessing(fused);
+		ProcessingManager manager = new QueueProcessingManager(factory);
+		manager.addProcessor(new TraceProcessor("A", trace));
+		manager.addProcessor(new TraceProcessor("B", trace));
+		manager.addProcessor(new TraceBarrierProcessor("C", trace));
+		manager.process(factory.Package().getRootPackage());
+		return trace;
+	}
+
+	@Test
+	public void testFusedProcessing() throws Exception {
+		// contract: fused processors process the same elements, in a single traversal until the barrier
+		Factory factory = build("spoon.test.processing", "SampleForInsertBefore").getFactory();
+		List<String> sequential = processTrace(factory, false);
+		List<String> fused = processTrace(factory, true);
+
+		int methods = sequential.size() / 3;
+		assertTrue(methods > 1);
+		assertEquals(sequential.size(), fused.size());
+		for (int i = 0; i < methods; i++) {
+			String method = sequential.get(i).substring(2);
+			assertEquals("A:" + method, fused.get(2 * i));
+			assertEquals("B:" + method, fused.get(2 * i + 1));
+			assertEquals("C:" + method, fused.get(2 * methods + i));
+		}
+	}
+
+	//toy processor for the next test
+	static class InsertBeforeSwitchProcessor extends AbstractProcessor<CtSwitch<?>> {
+		int processed = 0;
+
+		@Override
+		public void process(CtSwitch<?> element) {
+			processed++;
+			element.insertBefore(getFactory().Code().createCodeSnippetStatement("int before"));
+		}
+	}
+
+	@Test
+	public void testProcessorChangingTheScannedStatements() throws Exception {
+		// contract: the statements inserted while scanning a block are not scanned, whatever the processing mode
+		for (boolean fused : new boolean[] { false, true }) {
+			CtClass<?> type = build("spoon.test.processing", "SampleForInsertBefore");
+			Factory factory = type.getFactory();
+			factory.getEnvironment().setFusedProcessing(fused);
+			InsertBeforeSwitchProcessor processor = new InsertBeforeSwitchProcessor();
+			ProcessingManager manager = new QueueProcessingManager(factory);
+			manager.addProcessor(processor);
+			manager.addProcessor(new TraceBarrierProcessor("A", new ArrayList<String>()));
+			manager.process(factory.Package().getRootPackage());
+
+			assertEquals(3, processor.processed);
+			CtConstructor<?> constructor = type.getConstructor(factory.Type().INTEGER_PRIMITIVE);
+			assertEquals("int before", constructor.getBody().getStatement(3).toString());
+			assertEquals("int before", constructor.getBody().getStatement(5).toString());
+			assertEquals("int before", constructor.getBody().getStatement(7).toString());
+		}
+	}
+
+	//toy processors for the next test
+	static class TypeLocalTraceProcessor extends AbstractProcessor<CtMethod<?>> implements TypeLocalProcessor {
+		final Set<String> trace = Collections.synchronizedSet(new HashSet<String>());
+
+		@Override
+		public void process(CtMethod<?> element) {
+			trace.add(element.getDeclaringType().getQualifiedName() + "#" + element.getSignature());
+		}
+	}
+
+	static class CompanionProcessor extends AbstractProcessor<CtClass<?>> implements TypeLocalProcessor {
+		@Override
+		public boolean isToBeProcessed(CtClass<?> candidate) {
+			return candidate.isTopLevel();
+		}
+
+		@Override
+		public void process(CtClass<?> element) {
+			getFactory().Class().create("spoon.generated.companion." + element.getSimpleName() + "Companion");
+		}
+	}
+
+	@Test
+	public void testParallelProcessing() throws Exception {
+		// contract: a type-local processor processes the same elements with several threads as sequentially
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+
+		TypeLocalTraceProcessor sequential = new TypeLocalTraceProcessor();
+		ProcessingManager manager = new QueueProcessingManager(factory);
+		manager.addProcessor(sequential);
+		manager.process(factory.Package().getRootPackage());
+
+		factory.getEnvironment().setProcessingThreads(4);
+		TypeLocalTraceProcessor parallel = new TypeLocalTraceProcessor();
+		manager = new ParallelProcessingManager(factory);
+		manager.addProcessor(parallel);
+		manager.addProcessor(new CompanionProcessor());
+		manager.process(factory.Package().getRootPackage());
+
+		assertFalse(sequential.trace.isEmpty());
+		assertEquals(sequential.trace, parallel.trace);
+
+		// the packages and types created concurrently are all in the model
+		List<CtClass<?>> classes = Query.getElements(factory, new TypeFilter<CtClass<?>>(CtClass.class));
+		int companions = 0;
+		for (CtClass<?> c : classes) {
+			if (c.isTopLevel() && !c.getPackage().getQualifiedName().equals("spoon.generated.companion")) {
+				assertNotNull(factory.Class().get("spoon.generated.companion." + c.getSimpleName() + "Companion"));
+				companions++;
+			}
+		}
+		assertTrue(companions > 1);
+		assertEquals(companions, factory.Package().get("spoon.generated.companion").getTypes().size());
+	}
+
+	//toy processor for the next test
+	static class FailingTypeLocalProcessor extends AbstractProcessor<CtClass<?>> implements TypeLocalProcessor {
+		final AtomicInteger started = new AtomicInteger();
+		final AtomicInteger finished = new AtomicInteger();
+
+		@Override
+		public boolean isToBeProcessed(CtClass<?> candidate) {
+			return candidate.isTopLevel();
+		}
+
+		@Override
+		public void process(CtClass<?> element) {
+			started.incrementAndGet();
+			try {
+				if ("Tacos".equals(element.getSimpleName())) {
+					throw new IllegalStateException("failure in " + element.getSimpleName());
+				}
+				Thread.sleep(50);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			} finally {
+				finished.incrementAndGet();
+			}
+		}
+	}
+
+	@Test
+	public void testParallelProcessingFailure() throws Exception {
+		// contract: when a type-local processor fails on a type, the failure is rethrown once all the started types are processed
+		final Launcher launcher = new Launcher();
+		launcher.addInputResource("./src/test/java/spoon/test/filters/testclasses");
+		launcher.buildModel();
+		Factory factory = launcher.getFactory();
+		factory.getEnvironment().setProcessingThreads(4);
+
+		FailingTypeLocalProcessor processor = new FailingTypeLocalProcessor();
+		ProcessingManager manager = new ParallelProcessingManager(factory);
+		manager.addProcessor(processor);
+		try {
+			manager.process(factory.Package().getRootPackage());
+			fail();
+		} catch (IllegalStateException e) {
+			assertTrue(e.getMessage().contains("failure in Tacos"));
+		}
+		assertTrue(processor.started.get() > 0);
+		assertEquals(processor.started.get(), processor.finished.get());
+	}
 }
@@ -1,18 +1,25 @@
 package spoon.test.serializable;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
 import org.junit.Test;
 import spoon.reflect.code.CtStatement;
+import spoon.reflect.declaration.CtElement;
 import spoon.reflect.declaration.CtPackage;
 import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.FactoryImpl;
+import spoon.reflect.visitor.filter.TypeFilter;
 import spoon.support.DefaultCoreFactory;
+import spoon.support.SerializationModelStreamer;
 import spoon.support.StandardEnvironment;
 import spoon.support.util.ByteSerialization;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static spoon.testing.utils.ModelUtils.build;
 
 public class SerializableTest {
@@ -62,4 +69,20 @@ public class SerializableTest {
 		CtType<?> des = (CtType<?>) ByteSerialization.deserialize(ser);
 	}
 
+	@Test
+	public void testSerializationModelStreamer() throws Exception {
+		// contract: a saved model is loaded with the same elements, which all know their new factory
+		CtType<?> type = build("spoon.test.serializable", "Dummy");
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		new SerializationModelStreamer().save(type.getFactory(), out);
+
+		final Factory factory = new SerializationModelStreamer().load(new ByteArrayInputStream(out.toByteArray()));
+		CtType<?> loaded = factory.Type().get("spoon.test.serializable.Dummy");
+		assertNotNull(loaded);
+		assertEquals(type.toString(), loaded.toString());
+		for (CtElement element : factory.getModel().getRootPackage().getElements(new TypeFilter<CtElement>(CtElement.class))) {
+			assertSame(factory, element.getFactory());
+		}
+	}
+
 }
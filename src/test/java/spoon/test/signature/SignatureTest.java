@@ -4,10 +4,15 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
@@ -32,6 +37,7 @@ import spoon.reflect.declaration.CtType;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.factory.FactoryImpl;
 import spoon.reflect.reference.CtExecutableReference;
+import spoon.reflect.reference.CtTypeReference;
 import spoon.reflect.visitor.Query;
 import spoon.reflect.visitor.filter.NameFilter;
 import spoon.reflect.visitor.filter.ReferenceTypeFilter;
@@ -40,6 +46,7 @@ import spoon.support.DefaultCoreFactory;
 import spoon.support.StandardEnvironment;
 import spoon.support.comparator.DeepRepresentationComparator;
 import spoon.support.compiler.jdt.JDTSnippetCompiler;
+import spoon.support.util.SignatureBasedSortedSet;
 
 public class SignatureTest {
 
@@ -333,4 +340,92 @@ public class SignatureTest {
 		assertNotEquals(method, method2);
 
 	}
+
+	@Test
+	public void testSignatureBasedSortedSet() throws Exception {
+		// contract: the signatures cached by a SignatureBasedSortedSet follow
+		// the elements which are removed, modified and added again
+		final Factory factory = new Launcher().createFactory();
+		final CtMethod<?> a = createVoidMethod(factory, "a");
+		final CtMethod<?> b = createVoidMethod(factory, "b");
+		final CtMethod<?> c = createVoidMethod(factory, "c");
+
+		final SignatureBasedSortedSet<CtMethod<?>> methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(c, b, a));
+		assertEquals(Arrays.asList(a, b, c), new ArrayList<>(methods));
+		assertFalse(methods.add(createVoidMethod(factory, "b")));
+		assertTrue(methods.contains(createVoidMethod(factory, "b")));
+
+		assertTrue(methods.remove(b));
+		b.setSimpleName("d");
+		assertFalse(methods.contains(createVoidMethod(factory, "b")));
+		assertTrue(methods.add(b));
+		assertEquals(Arrays.asList(a, c, b), new ArrayList<>(methods));
+		assertTrue(methods.contains(createVoidMethod(factory, "d")));
+
+		methods.clear();
+		a.setSimpleName("e");
+		assertTrue(methods.add(a));
+		assertTrue(methods.contains(createVoidMethod(factory, "e")));
+	}
+
+	@Test
+	public void testSignatureBasedSortedSetRemovals() throws Exception {
+		// contract: the signature of an element removed from a SignatureBasedSortedSet in any way
+		// is forgotten, so the element is compared with its new signature once modified
+		final Factory factory = new Launcher().createFactory();
+		final CtMethod<?> a = createVoidMethod(factory, "a");
+		final CtMethod<?> b = createVoidMethod(factory, "b");
+		final CtMethod<?> c = createVoidMethod(factory, "c");
+
+		SignatureBasedSortedSet<CtMethod<?>> methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		Iterator<CtMethod<?>> iterator = methods.iterator();
+		iterator.next();
+		iterator.next();
+		iterator.remove();
+		assertForgotten(factory, methods, b);
+
+		methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		assertSame(a, methods.pollFirst());
+		assertForgotten(factory, methods, a);
+
+		methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		assertTrue(methods.retainAll(Arrays.asList(a, c)));
+		assertForgotten(factory, methods, b);
+
+		methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		assertTrue(methods.headSet(c).remove(b));
+		assertForgotten(factory, methods, b);
+
+		methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		methods.tailSet(b).clear();
+		assertEquals(Arrays.asList(a), new ArrayList<>(methods));
+		assertForgotten(factory, methods, c);
+
+		// the copies have their own cache
+		methods = new SignatureBasedSortedSet<>(Arrays.<CtMethod<?>>asList(a, b, c));
+		@SuppressWarnings("unchecked")
+		final SignatureBasedSortedSet<CtMethod<?>> copy = (SignatureBasedSortedSet<CtMethod<?>>) methods.clone();
+		assertNotSame(methods.comparator(), copy.comparator());
+		copy.clear();
+		assertEquals(Arrays.asList(a, b, c), new ArrayList<>(methods));
+		assertTrue(methods.contains(createVoidMethod(factory, "b")));
+	}
+
+	/**
+	 * Renames the removed method, then checks that it is not compared with its previous signature.
+	 */
+	private void assertForgotten(Factory factory, SignatureBasedSortedSet<CtMethod<?>> methods, CtMethod<?> removed) {
+		final String name = removed.getSimpleName();
+		removed.setSimpleName("z");
+		assertTrue(methods.add(createVoidMethod(factory, name)));
+		assertFalse(methods.contains(removed));
+		removed.setSimpleName(name);
+	}
+
+	private CtMethod<?> createVoidMethod(Factory factory, String name) {
+		final CtMethod<?> method = factory.Core().createMethod();
+		method.setSimpleName(name);
+		method.setType((CtTypeReference) factory.Type().VOID_PRIMITIVE);
+		return method;
+	}
 }
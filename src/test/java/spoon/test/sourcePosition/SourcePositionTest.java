@@ -1,12 +1,17 @@
 package spoon.test.sourcePosition;
 
 import org.junit.Test;
+import spoon.Launcher;
 import spoon.reflect.cu.SourcePosition;
+import spoon.reflect.declaration.CtField;
 import spoon.reflect.declaration.CtMethod;
 import spoon.reflect.factory.Factory;
 import spoon.reflect.visitor.Filter;
 import spoon.reflect.visitor.filter.TypeFilter;
 
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
@@ -38,6 +43,25 @@ public class SourcePositionTest {
 		}
 	}
 
+	@Test
+	public void testOriginalSourceCodeIsDecodedWithTheEncoding() throws Exception {
+		// contract: the positions of the elements match the source code after non-ASCII chars
+		File directory = Files.createTempDirectory("encoding").toFile();
+		File source = new File(directory, "Accents.java");
+		Files.write(source.toPath(), "class Accents { String s = \"\u00e9\u00e8\u00e0\u00e7\"; int field; }".getBytes(Charset.forName("UTF-16")));
+
+		Launcher launcher = new Launcher();
+		launcher.addInputResource(source.getPath());
+		launcher.getModelBuilder().setEncoding("UTF-16");
+		launcher.buildModel();
+		assertEquals(Charset.forName("UTF-16"), launcher.getEnvironment().getEncoding());
+
+		CtField<?> field = launcher.getFactory().Class().get("Accents").getField("field");
+		SourcePosition position = field.getPosition();
+		String code = position.getCompilationUnit().getOriginalSourceCode();
+		assertEquals("int field;", code.substring(position.getSourceStart(), position.getSourceEnd() + 1));
+	}
+
 	private Factory factoryFor(String packageName, String className) throws Exception {
 		return build(packageName, className).getFactory();
 	}